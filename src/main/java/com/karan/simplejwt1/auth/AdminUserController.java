@@ -0,0 +1,75 @@
+package com.karan.simplejwt1.auth;
+
+import com.karan.simplejwt1.auth.service.AdminUserService;
+import com.karan.simplejwt1.auth.service.UserImportService;
+import com.karan.simplejwt1.domain.AdminUserPage;
+import com.karan.simplejwt1.domain.UserImportReport;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+
+@RestController
+@RequestMapping("/admin/users")
+public class AdminUserController {
+
+    public static final String NDJSON = "application/x-ndjson";
+    public static final String CSV = "text/csv";
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private AdminUserService adminUserService;
+
+    /**
+     * Enabled users in id order; pass the returned {@code nextAfter} as {@code after} for the
+     * next page.
+     */
+    @GetMapping
+    public ResponseEntity<AdminUserPage> enabledUsers(@RequestParam(defaultValue = "0") long after,
+                                                      @RequestParam(defaultValue = "" + AdminUserService.DEFAULT_PAGE_SIZE) int limit){
+        return ResponseEntity.ok(adminUserService.enabledUsers(after, limit));
+    }
+
+    /**
+     * Every enabled user, one per line, written while the rows are read.
+     */
+    @GetMapping(value = "/export", produces = NDJSON)
+    public void exportEnabledUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8);
+        adminUserService.exportEnabledUsers(response.getOutputStream());
+    }
+
+    /**
+     * One user per line; the body is streamed, never read into memory as a whole.
+     */
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public ResponseEntity<UserImportReport> importNdjson(InputStream body){
+        return ResponseEntity.ok(userImportService.importUsers(reader(body), UserImportService.Format.NDJSON));
+    }
+
+    /**
+     * Header line first; columns are {@code username, password, password_hash, email, enabled,
+     * roles} in any order, unknown columns are ignored. Roles are separated by {@code |}.
+     */
+    @PostMapping(value = "/import", consumes = CSV)
+    public ResponseEntity<UserImportReport> importCsv(InputStream body){
+        return ResponseEntity.ok(userImportService.importUsers(reader(body), UserImportService.Format.CSV));
+    }
+
+    private static InputStreamReader reader(InputStream body) {
+        return new InputStreamReader(body, StandardCharsets.UTF_8);
+    }
+}
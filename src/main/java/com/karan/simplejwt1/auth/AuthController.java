@@ -1,16 +1,26 @@
 package com.karan.simplejwt1.auth;
 
 
+import com.karan.simplejwt1.auth.filter.TokenAuthenticator;
+import com.karan.simplejwt1.auth.ratelimit.LoginAttemptGuard;
 import com.karan.simplejwt1.auth.service.IAuthService;
+import com.karan.simplejwt1.auth.service.TokenIntrospectionService;
 import com.karan.simplejwt1.domain.AuthRequest;
 import com.karan.simplejwt1.domain.AuthResponse;
+import com.karan.simplejwt1.domain.IntrospectRequest;
+import com.karan.simplejwt1.domain.IntrospectResponse;
+import com.karan.simplejwt1.domain.RefreshRequest;
 import com.karan.simplejwt1.domain.RegisterRequest;
+import com.karan.simplejwt1.exception.InvalidCredentialsException;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -23,9 +33,26 @@ public class AuthController {
     @Autowired
     private IAuthService iAuthService;
 
+    @Autowired
+    private LoginAttemptGuard loginAttemptGuard;
+
+    @Autowired
+    private TokenIntrospectionService tokenIntrospectionService;
+
+    /**
+     * Throttled attempts are refused with 429 before the password is hashed.
+     */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> logIn(@RequestBody AuthRequest request){
-        var response = iAuthService.logIn(request);
+    public ResponseEntity<AuthResponse> logIn(@RequestBody AuthRequest request, HttpServletRequest servletRequest){
+        loginAttemptGuard.acquire(request.username(), servletRequest.getRemoteAddr());
+        AuthResponse response;
+        try {
+            response = iAuthService.logIn(request);
+        } catch (InvalidCredentialsException e) {
+            loginAttemptGuard.onFailure(request.username());
+            throw e;
+        }
+        loginAttemptGuard.onSuccess(request.username());
         return ResponseEntity.ok(response);
     }
 
@@ -35,4 +62,39 @@ public class AuthController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@RequestBody RefreshRequest request){
+        var response = iAuthService.refresh(request);
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logOut(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization){
+        String token = TokenAuthenticator.bearerToken(authorization);
+        if (token == null) {
+            throw new InvalidCredentialsException("Bearer token is required");
+        }
+        iAuthService.logOut(token);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logOutEverywhere(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization){
+        String token = TokenAuthenticator.bearerToken(authorization);
+        if (token == null) {
+            throw new InvalidCredentialsException("Bearer token is required");
+        }
+        iAuthService.logOutEverywhere(token);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Checks a batch of tokens for another service; the caller authenticates with its own
+     * token, which needs {@code tokens:introspect}.
+     */
+    @PostMapping("/introspect")
+    public ResponseEntity<IntrospectResponse> introspect(@RequestBody IntrospectRequest request){
+        return ResponseEntity.ok(new IntrospectResponse(tokenIntrospectionService.introspect(request.tokens())));
+    }
+
 }
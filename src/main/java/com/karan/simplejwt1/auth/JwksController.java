@@ -0,0 +1,76 @@
+package com.karan.simplejwt1.auth;
+
+import com.karan.simplejwt1.auth.jwt.JwtService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import tools.jackson.databind.ObjectMapper;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+
+/**
+ * Publishes the public signing keys so other services can verify tokens locally.
+ * <p>The key ring does not change while the application runs, so the document and its
+ * ETag are computed once; clients revalidate with {@code If-None-Match} and get a 304.
+ * Matching is left to {@link WebRequest#checkNotModified(String)}, so lists of tags and weak
+ * {@code W/} tags match as RFC 9110 says; only {@code *} is checked here, see {@link #anyETag}.
+ */
+@RestController
+public class JwksController {
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+
+    private final byte[] body;
+    private final String eTag;
+
+    public JwksController(JwtService jwtService, ObjectMapper objectMapper) {
+        this.body = objectMapper.writeValueAsBytes(Map.of("keys", jwtService.keyRing().publicJwks()));
+        this.eTag = "\"" + digest(body) + "\"";
+    }
+
+    @GetMapping("/.well-known/jwks.json")
+    public ResponseEntity<byte[]> jwks(WebRequest request){
+        if (request.checkNotModified(eTag) || anyETag(request)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(eTag)
+                    .cacheControl(CACHE_CONTROL)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CACHE_CONTROL)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    /**
+     * Spring only honours {@code If-None-Match: *} on state-changing methods, but the key set
+     * always exists, so on a GET it means the client's copy is current.
+     */
+    private static boolean anyETag(WebRequest request) {
+        String[] values = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        return values != null && Arrays.stream(values)
+                .flatMap(value -> ETag.parse(value).stream())
+                .anyMatch(ETag::isWildcard);
+    }
+
+    private static String digest(byte[] body) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(body);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.karan.simplejwt1.auth.authority;
+
+import org.springframework.security.core.GrantedAuthority;
+
+/**
+ * What a {@link Role} allows. Each constant is its own {@link GrantedAuthority}, so granting
+ * one never allocates.
+ */
+public enum Permission implements GrantedAuthority {
+
+    USERS_READ("users:read"),
+    USERS_IMPORT("users:import"),
+    TOKENS_INTROSPECT("tokens:introspect"),
+    METRICS_READ("metrics:read");
+
+    private final String authority;
+
+    Permission(String authority) {
+        this.authority = authority;
+    }
+
+    @Override
+    public String getAuthority() {
+        return authority;
+    }
+
+    int bit() {
+        return 1 << ordinal();
+    }
+}
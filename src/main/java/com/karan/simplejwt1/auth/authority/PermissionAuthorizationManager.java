@@ -0,0 +1,56 @@
+package com.karan.simplejwt1.auth.authority;
+
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.function.Supplier;
+
+/**
+ * Grants access when the caller's roles include a {@link Permission}.
+ * <p>For principals that are {@link RoleHolder}s, which every principal of this service is,
+ * the check is one bit test and returns a shared decision: nothing is allocated per request.
+ * Other principals fall back to comparing their authorities.
+ */
+public final class PermissionAuthorizationManager<T> implements AuthorizationManager<T> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final Permission permission;
+
+    private PermissionAuthorizationManager(Permission permission) {
+        this.permission = permission;
+    }
+
+    public static <T> PermissionAuthorizationManager<T> require(Permission permission) {
+        return new PermissionAuthorizationManager<>(permission);
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<? extends Authentication> authentication, T object) {
+        return isGranted(authentication.get()) ? GRANTED : DENIED;
+    }
+
+    boolean isGranted(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return false;
+        }
+        if (authentication.getPrincipal() instanceof RoleHolder holder) {
+            return RoleSet.grants(holder.getRoles(), permission);
+        }
+        for (GrantedAuthority authority : authentication.getAuthorities()) {
+            if (permission.getAuthority().equals(authority.getAuthority())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "PermissionAuthorizationManager[" + permission.getAuthority() + "]";
+    }
+}
@@ -0,0 +1,41 @@
+package com.karan.simplejwt1.auth.authority;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Roles a user can hold, stored together as a bit mask in {@code SimpleUser.roles} and in the
+ * {@link com.karan.simplejwt1.auth.jwt.JwtClaims#ROLES} claim. The bit of a role is its ordinal,
+ * so new roles go at the end.
+ * <p>The authority of a role is its name; {@code USER} is the authority every user had before
+ * roles existed.
+ */
+public enum Role implements GrantedAuthority {
+
+    USER(EnumSet.noneOf(Permission.class)),
+    SUPPORT(EnumSet.of(Permission.USERS_READ)),
+    ADMIN(EnumSet.allOf(Permission.class)),
+    /** Other services calling in: a gateway asking whether tokens are still valid, a metrics scraper. */
+    SERVICE(EnumSet.of(Permission.TOKENS_INTROSPECT, Permission.METRICS_READ));
+
+    private final Set<Permission> permissions;
+
+    Role(Set<Permission> permissions) {
+        this.permissions = permissions;
+    }
+
+    @Override
+    public String getAuthority() {
+        return name();
+    }
+
+    public Set<Permission> permissions() {
+        return permissions;
+    }
+
+    public int bit() {
+        return 1 << ordinal();
+    }
+}
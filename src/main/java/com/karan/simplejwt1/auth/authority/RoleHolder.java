@@ -0,0 +1,10 @@
+package com.karan.simplejwt1.auth.authority;
+
+/**
+ * A principal that knows its roles as a {@link RoleSet} mask, so authorization can test a bit
+ * instead of searching its authorities.
+ */
+public interface RoleHolder {
+
+    int getRoles();
+}
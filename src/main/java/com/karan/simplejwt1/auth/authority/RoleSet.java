@@ -0,0 +1,103 @@
+package com.karan.simplejwt1.auth.authority;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Role masks and the authorities they grant.
+ * <p>There are only {@code 2^roles} possible masks, so the role list, the authority list and
+ * the permission mask of every one of them are built once, when the class loads. Users with the same roles
+ * share the same immutable list, and no lookup allocates.
+ */
+public final class RoleSet {
+
+    public static final int DEFAULT = Role.USER.bit();
+
+    private static final Role[] ROLES = Role.values();
+    private static final int MASKS = 1 << ROLES.length;
+    private static final List<List<Role>> ROLE_LISTS = new ArrayList<>(MASKS);
+    private static final List<List<GrantedAuthority>> AUTHORITIES = new ArrayList<>(MASKS);
+    private static final int[] PERMISSIONS = new int[MASKS];
+
+    static {
+        for (int mask = 0; mask < MASKS; mask++) {
+            List<Role> roles = new ArrayList<>();
+            Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+            for (Role role : ROLES) {
+                if ((mask & role.bit()) != 0) {
+                    roles.add(role);
+                    authorities.add(role);
+                    for (Permission permission : role.permissions()) {
+                        authorities.add(permission);
+                        PERMISSIONS[mask] |= permission.bit();
+                    }
+                }
+            }
+            ROLE_LISTS.add(List.copyOf(roles));
+            AUTHORITIES.add(List.copyOf(authorities));
+        }
+    }
+
+    private RoleSet() {
+    }
+
+    /**
+     * @return the shared, immutable authorities of the mask: its roles, then their permissions
+     */
+    public static List<GrantedAuthority> authorities(int roles) {
+        return AUTHORITIES.get(roles & (MASKS - 1));
+    }
+
+    /**
+     * @return the shared, immutable roles of the mask, in declaration order
+     */
+    public static List<Role> roles(int roles) {
+        return ROLE_LISTS.get(roles & (MASKS - 1));
+    }
+
+    public static boolean grants(int roles, Permission permission) {
+        return (PERMISSIONS[roles & (MASKS - 1)] & permission.bit()) != 0;
+    }
+
+    public static int of(Role... roles) {
+        int mask = 0;
+        for (Role role : roles) {
+            mask |= role.bit();
+        }
+        return mask;
+    }
+
+    /**
+     * The mask of the role names among {@code names}; anything else is ignored. Reads the
+     * authority lists of tokens issued before the roles claim.
+     */
+    public static int fromAuthorities(Collection<?> names) {
+        int mask = 0;
+        for (Object name : names) {
+            Object authority = name instanceof GrantedAuthority granted ? granted.getAuthority() : name;
+            for (Role role : ROLES) {
+                if (role.name().equals(authority)) {
+                    mask |= role.bit();
+                }
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @throws IllegalArgumentException on a name that is not a role
+     */
+    public static int parse(Collection<String> names) {
+        int mask = 0;
+        for (String name : names) {
+            mask |= Role.valueOf(name.trim().toUpperCase(Locale.ROOT)).bit();
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,40 @@
+package com.karan.simplejwt1.auth.claims;
+
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Adds claims to the access tokens issued at login, registration and refresh, so downstream
+ * services read them from the token instead of calling back for them.
+ * <p>Every bean of this type is picked up by {@link ClaimsEnricher}, in {@code @Order}; when two
+ * providers set the same claim the earlier one wins. Providers run concurrently on virtual
+ * threads, so they must be thread safe and may block. Claims in
+ * {@link com.karan.simplejwt1.auth.jwt.JwtClaims#RESERVED} are ignored.
+ */
+public interface ClaimProvider {
+
+    /**
+     * @return a short, stable name, used in logs and to name the cache meters
+     */
+    String name();
+
+    /**
+     * @param user the user the token is issued to; a {@code ClaimsPrincipal} on refresh, so
+     *             anything beyond the username, id and roles may have to be looked up
+     * @return the claims to add, empty for none; values must be strings, numbers, booleans,
+     *         or lists and maps of those
+     */
+    Map<String, ?> claims(UserDetails user);
+
+    /**
+     * How long the claims of one user are reused before {@link #claims} is called again.
+     * Cached claims are also dropped as soon as the user's row changes.
+     *
+     * @return the time to live, {@link Duration#ZERO} to call the provider for every token
+     */
+    default Duration cacheTtl() {
+        return Duration.ZERO;
+    }
+}
@@ -0,0 +1,213 @@
+package com.karan.simplejwt1.auth.claims;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.karan.simplejwt1.auth.jwt.JwtClaims;
+import com.karan.simplejwt1.auth.repo.UserChangedEvent;
+import com.karan.simplejwt1.config.JwtProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Collects the claims of every {@link ClaimProvider} for a token about to be issued.
+ * <p>Cached claims are read on the calling thread; every provider that misses runs on its own
+ * virtual thread, so slow providers overlap instead of adding up. All of them share one
+ * {@code jwt.claims.provider-timeout}: a provider that misses it, or fails, is left out of this
+ * token and logged, and the login goes on. A late result is still cached for the next token.
+ * <p>Each provider's claims are vetted once, before they are cached: reserved names are
+ * dropped, and a provider whose claims serialize to more than
+ * {@code jwt.claims.max-provider-bytes} contributes nothing. The token as a whole is checked
+ * against {@code jwt.claims.max-token-bytes} when it is signed.
+ * <p>Caches hold at most {@code jwt.claims.cache-max-size} users each, drop a user as soon as a
+ * {@link UserChangedEvent} reports a write to its row, and are published as {@code cache.*}
+ * meters named {@code jwt.claims.<provider>}. A load still running when its user is evicted
+ * would cache the claims it read before the write, so every eviction bumps a generation
+ * striped by username, and a load that sees its stripe moved drops what it just cached.
+ */
+@Component
+@Slf4j
+public class ClaimsEnricher implements ApplicationListener<PayloadApplicationEvent<UserChangedEvent>>, MeterBinder {
+
+    static final String CACHE_NAME_PREFIX = "jwt.claims.";
+    private static final int GENERATION_STRIPES = 64;
+
+    private final List<Source> sources;
+    private final long timeoutNanos;
+    private final int maxProviderBytes;
+    private final Executor executor = task -> Thread.ofVirtual().name("claim-provider").start(task);
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public ClaimsEnricher(ObjectProvider<ClaimProvider> providers, JwtProperties properties) {
+        JwtProperties.Claims claims = properties.claims();
+        this.timeoutNanos = claims.providerTimeout().toNanos();
+        this.maxProviderBytes = claims.maxProviderBytes();
+        this.sources = providers.orderedStream()
+                .map(provider -> new Source(provider, cacheFor(provider, claims)))
+                .toList();
+    }
+
+    private static Cache<String, ProvidedClaims> cacheFor(ClaimProvider provider, JwtProperties.Claims claims) {
+        if (!provider.cacheTtl().isPositive()) {
+            return null;
+        }
+        return Caffeine.newBuilder()
+                .expireAfterWrite(provider.cacheTtl())
+                .maximumSize(claims.cacheMaxSize())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return the claims of all providers for the user, empty when there are none
+     */
+    public Map<String, Object> claims(UserDetails user) {
+        if (sources.isEmpty()) {
+            return Map.of();
+        }
+        int count = sources.size();
+        ProvidedClaims[] provided = new ProvidedClaims[count];
+        List<CompletableFuture<ProvidedClaims>> pending = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Source source = sources.get(i);
+            provided[i] = source.cached(user.getUsername());
+            pending.add(provided[i] != null ? null : CompletableFuture.supplyAsync(() -> source.load(user), executor));
+        }
+
+        long deadline = System.nanoTime() + timeoutNanos;
+        for (int i = 0; i < count; i++) {
+            CompletableFuture<ProvidedClaims> future = pending.get(i);
+            if (future == null) {
+                continue;
+            }
+            String name = sources.get(i).provider.name();
+            try {
+                provided[i] = future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                log.warn("Claim provider {} timed out for : {}", name, user.getUsername());
+            } catch (ExecutionException e) {
+                log.warn("Claim provider {} failed for : {} \nMessage : {}", name, user.getUsername(), e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+
+        Map<String, Object> merged = new LinkedHashMap<>();
+        for (ProvidedClaims claims : provided) {
+            if (claims != null) {
+                claims.values().forEach(merged::putIfAbsent);
+            }
+        }
+        return merged;
+    }
+
+    @Override
+    public void onApplicationEvent(PayloadApplicationEvent<UserChangedEvent> event) {
+        evict(event.getPayload());
+    }
+
+    public void evict(UserChangedEvent event) {
+        generations.incrementAndGet(stripe(event.username()));
+        for (Source source : sources) {
+            if (source.cache != null) {
+                source.cache.invalidate(event.username());
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        for (Source source : sources) {
+            if (source.cache != null) {
+                CaffeineCacheMetrics.monitor(registry, source.cache, CACHE_NAME_PREFIX + source.provider.name());
+            }
+        }
+    }
+
+    private static int stripe(String username) {
+        return Math.floorMod(username.hashCode(), GENERATION_STRIPES);
+    }
+
+    /**
+     * Drops reserved and {@code null} claims, then measures what is left as JSON.
+     */
+    private ProvidedClaims vet(ClaimProvider provider, Map<String, ?> claims) {
+        if (claims == null || claims.isEmpty()) {
+            return ProvidedClaims.EMPTY;
+        }
+        Map<String, Object> values = new LinkedHashMap<>();
+        claims.forEach((name, value) -> {
+            if (JwtClaims.RESERVED.contains(name)) {
+                log.warn("Claim provider {} tried to set reserved claim {}, ignored", provider.name(), name);
+            } else if (value != null) {
+                values.put(name, value);
+            }
+        });
+        int bytes = JsonMapper.shared().writeValueAsBytes(values).length;
+        if (bytes > maxProviderBytes) {
+            log.warn("Claim provider {} returned {} bytes of claims, more than jwt.claims.max-provider-bytes of {}, dropped",
+                    provider.name(), bytes, maxProviderBytes);
+            return ProvidedClaims.EMPTY;
+        }
+        return new ProvidedClaims(Collections.unmodifiableMap(values));
+    }
+
+    /**
+     * Vetted claims of one provider for one user.
+     */
+    private record ProvidedClaims(Map<String, Object> values) {
+
+        static final ProvidedClaims EMPTY = new ProvidedClaims(Map.of());
+    }
+
+    private final class Source {
+
+        private final ClaimProvider provider;
+        private final Cache<String, ProvidedClaims> cache;
+
+        private Source(ClaimProvider provider, Cache<String, ProvidedClaims> cache) {
+            this.provider = provider;
+            this.cache = cache;
+        }
+
+        ProvidedClaims cached(String username) {
+            return cache == null ? null : cache.getIfPresent(username);
+        }
+
+        ProvidedClaims load(UserDetails user) {
+            String username = user.getUsername();
+            int stripe = stripe(username);
+            long generation = generations.get(stripe);
+            ProvidedClaims claims = vet(provider, provider.claims(user));
+            if (cache != null) {
+                cache.put(username, claims);
+                // an eviction that ran while the provider was busy may have missed this entry
+                if (generations.get(stripe) != generation) {
+                    cache.invalidate(username);
+                }
+            }
+            return claims;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.karan.simplejwt1.auth.claims;
+
+import com.karan.simplejwt1.auth.repo.AuthenticatedUser;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.config.AuthProperties;
+import com.karan.simplejwt1.entity.SimpleUser;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Adds the user's {@code email}, the profile field downstream services ask for most.
+ * <p>Off unless {@code jwt.claims.email} is set, since it puts personal data in every token.
+ * Login and registration already hold the email; on refresh it is read once and then cached
+ * for as long as a cached user ({@code auth.user-cache.ttl}).
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.claims.email", havingValue = "true")
+public class EmailClaimProvider implements ClaimProvider {
+
+    public static final String EMAIL = "email";
+
+    private final UserRepo userRepo;
+    private final Duration cacheTtl;
+
+    public EmailClaimProvider(UserRepo userRepo, AuthProperties properties) {
+        this.userRepo = userRepo;
+        this.cacheTtl = properties.userCache().ttl();
+    }
+
+    @Override
+    public String name() {
+        return EMAIL;
+    }
+
+    @Override
+    public Map<String, ?> claims(UserDetails user) {
+        String email = switch (user) {
+            case AuthenticatedUser authenticated -> authenticated.email();
+            case SimpleUser simpleUser -> simpleUser.getEmail();
+            default -> userRepo.findAuthenticatedUserByUsername(user.getUsername())
+                    .map(AuthenticatedUser::email)
+                    .orElse(null);
+        };
+        return email == null ? Map.of() : Map.of(EMAIL, email);
+    }
+
+    @Override
+    public Duration cacheTtl() {
+        return cacheTtl;
+    }
+}
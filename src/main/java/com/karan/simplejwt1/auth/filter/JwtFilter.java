@@ -1,6 +1,9 @@
 package com.karan.simplejwt1.auth.filter;
 
-import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.jwt.ClaimsPrincipal;
+import com.karan.simplejwt1.auth.jwt.VerifiedToken;
+import com.karan.simplejwt1.auth.metrics.AuthMetrics;
+import com.karan.simplejwt1.exception.Problem;
 import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,6 +12,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.jspecify.annotations.NonNull;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,13 +22,31 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authenticates requests carrying a bearer token.
+ * <p>Public paths are skipped before the header is read, and a request that is already
+ * authenticated does no token work. The token is read in place from the header, and
+ * only copied out when it has to be verified; the authentication is built once the
+ * token and the user are both accepted.
+ */
 @AllArgsConstructor
 @Slf4j
 public class JwtFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
+    /** Paths permitted without a token; the auth endpoints read the header themselves. */
+    private static final String[] PUBLIC_PATH_PREFIXES = {"/auth/", "/.well-known/"};
+    /** The one auth endpoint whose callers do authenticate, as another service. */
+    private static final String INTROSPECT_PATH = "/auth/introspect";
+
+    private static final WebAuthenticationDetailsSource DETAILS_SOURCE = new WebAuthenticationDetailsSource();
+
+    private static final String ALREADY_FILTERED_ATTRIBUTE = JwtFilter.class.getName() + ALREADY_FILTERED_SUFFIX;
+
+    private final TokenAuthenticator authenticator;
     private final UserDetailsService userDetailsService;
+    private final AuthMetrics metrics;
 
     /**
      * Same contract as for {@code doFilter}, but guaranteed to be
@@ -43,59 +65,78 @@ public class JwtFilter extends OncePerRequestFilter {
             @NonNull HttpServletResponse response,
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
-        String authHeader = request.getHeader("Authorization");
+        String authorization = request.getHeader(HttpHeaders.AUTHORIZATION);
 
-        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+        if (!TokenAuthenticator.isBearer(authorization)
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        String token = authHeader.substring(7);
-
+        long startedAt = System.nanoTime();
         try {
-            String username = jwtService.extractUserName(token);
-
-            if (username != null &&
-                    SecurityContextHolder.getContext().getAuthentication() == null) {
+            VerifiedToken verified = authenticator.verifyBearer(authorization);
 
-                UserDetails userDetails =
-                        userDetailsService.loadUserByUsername(username);
+            if (verified.subject() != null) {
+                UserDetails userDetails = resolveUser(verified);
 
-                if (jwtService.validateToken(token, userDetails.getUsername())) {
+                if (authenticator.accepts(verified, userDetails)) {
                     UsernamePasswordAuthenticationToken authentication =
-                            new UsernamePasswordAuthenticationToken(
+                            UsernamePasswordAuthenticationToken.authenticated(
                                     userDetails,
                                     null,
                                     userDetails.getAuthorities()
                             );
-
-                    authentication.setDetails(
-                            new WebAuthenticationDetailsSource().buildDetails(request)
-                    );
+                    authentication.setDetails(DETAILS_SOURCE.buildDetails(request));
 
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
             }
-
-            filterChain.doFilter(request, response);
-
+            metrics.filter().record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
         } catch (JwtException e) {
-            log.warn("JWT validation failed: {}", e.getClass().getSimpleName());
-            sendUnauthorized(response);
+            log.debug("JWT validation failed: {}", e.getClass().getSimpleName());
+            metrics.filterFailure(e);
+            Problem.INVALID_TOKEN.writeTo(response);
+            return;
         } catch (UsernameNotFoundException e) {
-            log.warn("JWT user not found");
-            sendUnauthorized(response);
+            log.debug("JWT user not found");
+            metrics.filterFailure(e);
+            Problem.INVALID_TOKEN.writeTo(response);
+            return;
         }
+
+        filterChain.doFilter(request, response);
     }
 
-    private void sendUnauthorized(HttpServletResponse response) throws IOException {
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.setContentType("application/json");
-        response.getWriter().write("""
-            {
-              "error": "Unauthorized",
-              "message": "Invalid or expired token"
+    /**
+     * Constant instead of the per-request concatenation of the default.
+     */
+    @Override
+    protected String getAlreadyFilteredAttributeName() {
+        return ALREADY_FILTERED_ATTRIBUTE;
+    }
+
+    /**
+     * Compares the path in place against the public prefixes, without building the
+     * path-within-application string.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        int offset = request.getContextPath().length();
+        for (String prefix : PUBLIC_PATH_PREFIXES) {
+            if (uri.startsWith(prefix, offset)) {
+                return !uri.startsWith(INTROSPECT_PATH, offset);
             }
-        """);
+        }
+        return false;
+    }
+
+    private UserDetails resolveUser(VerifiedToken token) {
+        ClaimsPrincipal principal = authenticator.statelessPrincipal(token);
+        if (principal != null) {
+            return principal;
+        }
+        return userDetailsService.loadUserByUsername(token.subject());
     }
 }
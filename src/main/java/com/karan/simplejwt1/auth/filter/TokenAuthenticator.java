@@ -0,0 +1,110 @@
+package com.karan.simplejwt1.auth.filter;
+
+import com.karan.simplejwt1.auth.jwt.ClaimsPrincipal;
+import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.jwt.RejectedTokenException;
+import com.karan.simplejwt1.auth.jwt.VerifiedToken;
+import com.karan.simplejwt1.auth.jwt.VerifiedTokenCache;
+import com.karan.simplejwt1.auth.revocation.TokenRevocationService;
+import com.karan.simplejwt1.auth.revocation.TokenVersionRegistry;
+import com.karan.simplejwt1.config.JwtProperties;
+import io.jsonwebtoken.JwtException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Token checks shared by the servlet {@link JwtFilter} and the reactive pipeline.
+ * <p>Everything here is CPU only and never blocks, so the reactive side can run it on the
+ * event loop. Loading the user, the one step that may need the database, is left to the
+ * caller's own {@code UserDetailsService} flavour.
+ */
+@Component
+public class TokenAuthenticator {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtService jwtService;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationService revocationService;
+    private final TokenVersionRegistry tokenVersions;
+    private final JwtProperties.Stateless stateless;
+
+    public TokenAuthenticator(
+            JwtService jwtService,
+            VerifiedTokenCache tokenCache,
+            TokenRevocationService revocationService,
+            TokenVersionRegistry tokenVersions,
+            JwtProperties properties
+    ) {
+        this.jwtService = jwtService;
+        this.tokenCache = tokenCache;
+        this.revocationService = revocationService;
+        this.tokenVersions = tokenVersions;
+        this.stateless = properties.stateless();
+    }
+
+    /**
+     * Matches the scheme case-insensitively in place, as RFC 7235 requires.
+     */
+    public static boolean isBearer(String authorizationHeader) {
+        return authorizationHeader != null
+                && authorizationHeader.length() > BEARER_PREFIX.length()
+                && authorizationHeader.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length());
+    }
+
+    /**
+     * @return the token from an {@code Authorization} header, or {@code null} if it is not a bearer token
+     */
+    public static String bearerToken(String authorizationHeader) {
+        return isBearer(authorizationHeader) ? authorizationHeader.substring(BEARER_PREFIX.length()) : null;
+    }
+
+    /**
+     * Checks the signature and expiry, then that the token was neither revoked nor
+     * invalidated by a later logout everywhere.
+     *
+     * @throws JwtException if the token must be refused
+     */
+    public VerifiedToken verify(String token) {
+        return checked(tokenCache.verify(token));
+    }
+
+    /**
+     * Same as {@link #verify(String)} straight from a header accepted by {@link #isBearer},
+     * without copying the token out of it when the verified-token cache already holds it.
+     */
+    public VerifiedToken verifyBearer(String authorizationHeader) {
+        return checked(tokenCache.verify(authorizationHeader, BEARER_PREFIX.length()));
+    }
+
+    private VerifiedToken checked(VerifiedToken verified) {
+        if (revocationService.isRevoked(verified)) {
+            throw new RejectedTokenException("Token has been revoked");
+        }
+        if (tokenVersions.isStale(verified)) {
+            throw new RejectedTokenException("Token issued before the last logout");
+        }
+        return verified;
+    }
+
+    /**
+     * In stateless mode the principal comes straight from the signed claims; the database
+     * is only read when the token lacks those claims or they are older than
+     * {@code jwt.stateless.max-claims-age}.
+     *
+     * @return the principal, or {@code null} when the caller has to load the user
+     */
+    public ClaimsPrincipal statelessPrincipal(VerifiedToken token) {
+        if (stateless.enabled() && token.issuedAt() != null
+                && token.issuedAt().plus(stateless.maxClaimsAge()).isAfter(Instant.now())) {
+            return token.principal();
+        }
+        return null;
+    }
+
+    public boolean accepts(VerifiedToken token, UserDetails user) {
+        return user.isEnabled() && jwtService.validateToken(token, user.getUsername());
+    }
+}
@@ -0,0 +1,54 @@
+package com.karan.simplejwt1.auth.jwt;
+
+import com.karan.simplejwt1.auth.authority.RoleHolder;
+import com.karan.simplejwt1.auth.authority.RoleSet;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+
+/**
+ * Principal rebuilt from the signed claims of a token, without touching the database.
+ * <p>It carries no password: the token signature is the credential.
+ *
+ * @param username    the {@code sub} claim
+ * @param roles       the {@link JwtClaims#ROLES} claim, a {@link RoleSet} mask
+ * @param enabled     the {@link JwtClaims#ENABLED} claim
+ * @param version      the {@link JwtClaims#USER_VERSION} claim, the user's row version at issue time
+ * @param userId       the {@link JwtClaims#USER_ID} claim, {@code null} on tokens that predate it
+ * @param tokenVersion the {@link JwtClaims#TOKEN_VERSION} claim
+ */
+public record ClaimsPrincipal(
+        String username,
+        int roles,
+        boolean enabled,
+        long version,
+        Long userId,
+        int tokenVersion
+) implements UserDetails, RoleHolder {
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return RoleSet.authorities(roles);
+    }
+
+    @Override
+    public int getRoles() {
+        return roles;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+}
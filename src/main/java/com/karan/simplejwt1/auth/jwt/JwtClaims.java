@@ -0,0 +1,29 @@
+package com.karan.simplejwt1.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.util.Set;
+
+/**
+ * Names of the private claims written by {@link JwtService}.
+ */
+public final class JwtClaims {
+
+    /** Role names; only read, from tokens issued before {@link #ROLES}. */
+    public static final String AUTHORITIES = "auth";
+    /** The user's roles as one {@link com.karan.simplejwt1.auth.authority.RoleSet} mask. */
+    public static final String ROLES = "rl";
+    public static final String ENABLED = "enabled";
+    public static final String USER_VERSION = "uver";
+    public static final String USER_ID = "uid";
+    public static final String TOKEN_VERSION = "tv";
+
+    /** Registered claims and the ones above; claim providers cannot set these. */
+    public static final Set<String> RESERVED = Set.of(
+            Claims.ID, Claims.SUBJECT, Claims.ISSUER, Claims.AUDIENCE,
+            Claims.ISSUED_AT, Claims.NOT_BEFORE, Claims.EXPIRATION,
+            AUTHORITIES, ROLES, ENABLED, USER_VERSION, USER_ID, TOKEN_VERSION);
+
+    private JwtClaims() {
+    }
+}
@@ -1,24 +1,50 @@
 package com.karan.simplejwt1.auth.jwt;
 
+import com.karan.simplejwt1.config.JwtProperties;
+import com.karan.simplejwt1.auth.authority.RoleHolder;
+import com.karan.simplejwt1.auth.authority.RoleSet;
+import com.karan.simplejwt1.auth.repo.AuthenticatedUser;
+import com.karan.simplejwt1.entity.SimpleUser;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.security.Key;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
+/**
+ * Issues and verifies the tokens used by the API.
+ * <p>The {@link SigningKeyRing} and the parser are built once in the constructor and shared
+ * by every request thread; both are immutable. Unusable key material therefore fails
+ * application startup instead of the first request.
+ */
 @Component
 @Slf4j
 public class JwtService {
 
-    private static final String SECRET = "357638792F423F4428472B4B6250655368566D597133743677397A2443264629";
-    private static final long TOKEN_EXPIRATION = 1000L * 60 * 60 * 24 * 7; // 7 days
+    private final SigningKeyRing keyRing;
+    private final JwtParser parser;
+    private final String issuer;
+    private final long tokenExpirationMillis;
+    private final int maxTokenBytes;
 
+    public JwtService(JwtProperties properties) {
+        this.keyRing = SigningKeyRing.from(properties);
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(keyRing)
+                .build();
+        this.issuer = properties.issuer();
+        this.tokenExpirationMillis = properties.expiration().toMillis();
+        this.maxTokenBytes = properties.claims().maxTokenBytes();
+    }
 
     public String extractUserName(String token) {
         return getClaims(token , Claims::getSubject);
@@ -28,9 +54,23 @@ public class JwtService {
         return getClaims(token , Claims::getExpiration);
     }
 
+    /**
+     * Parses the token and checks its signature exactly once.
+     *
+     * @param token compact JWS taken from the request
+     * @return the verified claims of the token
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, badly signed or expired
+     */
+    public VerifiedToken verify(String token) {
+        return VerifiedToken.from(getAllClaimsFromToken(token));
+    }
+
     public boolean validateToken(String token , String principalUsername) {
-        final String username = extractUserName(token);
-        return username.equals(principalUsername) && !isTokenExpired(token);
+        return validateToken(verify(token), principalUsername);
+    }
+
+    public boolean validateToken(VerifiedToken token , String principalUsername) {
+        return token.subject().equals(principalUsername) && !token.isExpired(Instant.now());
     }
 
     public boolean isTokenExpired(String token) {
@@ -44,25 +84,97 @@ public class JwtService {
 
     public String generateToken(String username) {
         log.info("generateToken(-)");
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuer("Authentication_Service")
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + TOKEN_EXPIRATION))
-                .signWith(getSingKey() , SignatureAlgorithm.HS256)
-                .compact();
+        return compact(newTokenBuilder(Map.of())
+                .setSubject(username));
+    }
+
+    /**
+     * Issues a token that also carries the roles mask, the enabled flag and the row
+     * version of the user, so the filter can build the principal from the token alone,
+     * plus the user id and token version checked against the user's current one.
+     */
+    public String generateToken(UserDetails user) {
+        return generateToken(user, Map.of());
+    }
+
+    /**
+     * Same as {@link #generateToken(UserDetails)}, plus claims from the claim providers.
+     * Claims this service writes itself always win over {@code extraClaims}.
+     *
+     * @throws TokenTooLargeException if the token exceeds {@code jwt.claims.max-token-bytes}
+     */
+    public String generateToken(UserDetails user, Map<String, ?> extraClaims) {
+        log.info("generateToken(-)");
+        int roles = user instanceof RoleHolder holder
+                ? holder.getRoles()
+                : RoleSet.fromAuthorities(user.getAuthorities());
+        JwtBuilder builder = newTokenBuilder(extraClaims)
+                .setSubject(user.getUsername())
+                .claim(JwtClaims.ROLES, roles)
+                .claim(JwtClaims.ENABLED, user.isEnabled())
+                .claim(JwtClaims.USER_VERSION, versionOf(user));
+        if (user instanceof SimpleUser simpleUser && simpleUser.getId() != null) {
+            builder.claim(JwtClaims.USER_ID, simpleUser.getId())
+                    .claim(JwtClaims.TOKEN_VERSION, simpleUser.getTokenVersion());
+        } else if (user instanceof AuthenticatedUser authenticated && authenticated.id() != null) {
+            builder.claim(JwtClaims.USER_ID, authenticated.id())
+                    .claim(JwtClaims.TOKEN_VERSION, authenticated.tokenVersion());
+        } else if (user instanceof ClaimsPrincipal principal && principal.userId() != null) {
+            builder.claim(JwtClaims.USER_ID, principal.userId())
+                    .claim(JwtClaims.TOKEN_VERSION, principal.tokenVersion());
+        }
+        return compact(builder);
+    }
+
+    private static long versionOf(UserDetails user) {
+        if (user instanceof ClaimsPrincipal principal) {
+            return principal.version();
+        }
+        if (user instanceof AuthenticatedUser authenticated && authenticated.version() != null) {
+            return authenticated.version();
+        }
+        if (user instanceof SimpleUser simpleUser && simpleUser.getVersion() != null) {
+            return simpleUser.getVersion();
+        }
+        return 0L;
+    }
+
+    /**
+     * {@link JwtBuilder} is not thread safe, so every token starts from a fresh builder
+     * pre-filled with the shared key, issuer and lifetime. The extra claims go in first, so
+     * every claim set afterwards overrides them.
+     */
+    private JwtBuilder newTokenBuilder(Map<String, ?> extraClaims) {
+        long now = System.currentTimeMillis();
+        SigningKeyRing.SigningKey signingKey = keyRing.active();
+        JwtBuilder builder = Jwts.builder();
+        extraClaims.forEach(builder::claim);
+        if (signingKey.kid() != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, signingKey.kid());
+        }
+        return builder
+                .setId(UUID.randomUUID().toString())
+                .setIssuer(issuer)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + tokenExpirationMillis))
+                .signWith(signingKey.privateKey() , signingKey.algorithm());
+    }
+
+    private String compact(JwtBuilder builder) {
+        String token = builder.compact();
+        if (token.length() > maxTokenBytes) {
+            throw new TokenTooLargeException(String.format(
+                    "Token of %d bytes exceeds jwt.claims.max-token-bytes of %d", token.length(), maxTokenBytes));
+        }
+        return token;
     }
 
-    private Key getSingKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(SECRET);
-        return Keys.hmacShaKeyFor(keyBytes);
+    public SigningKeyRing keyRing() {
+        return keyRing;
     }
 
     private Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSingKey())
-                .build()
-                .parseClaimsJws(token)
+        return parser.parseClaimsJws(token)
                 .getBody();
     }
 }
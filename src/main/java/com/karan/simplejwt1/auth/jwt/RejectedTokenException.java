@@ -0,0 +1,13 @@
+package com.karan.simplejwt1.auth.jwt;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * A correctly signed, unexpired token that is refused anyway, because it was revoked or
+ * issued before the user's last logout everywhere.
+ */
+public class RejectedTokenException extends JwtException {
+    public RejectedTokenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,220 @@
+package com.karan.simplejwt1.auth.jwt;
+
+import com.karan.simplejwt1.config.JwtProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.io.DecodingException;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.WeakKeyException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keys used to sign and verify tokens, selected by the {@code kid} header.
+ * <p>HMAC tokens carry no {@code kid} and are verified with {@code jwt.secret}. Asymmetric
+ * tokens name the key that signed them; the active key signs, retiring keys only verify,
+ * and their public halves are published as a JWK set. Built once at startup and immutable.
+ */
+@Slf4j
+public final class SigningKeyRing extends SigningKeyResolverAdapter {
+
+    private final SignatureAlgorithm algorithm;
+    private final Key hmacKey;
+    private final SigningKey active;
+    private final Map<String, SigningKey> byId;
+
+    private SigningKeyRing(SignatureAlgorithm algorithm, Key hmacKey, SigningKey active, Map<String, SigningKey> byId) {
+        this.algorithm = algorithm;
+        this.hmacKey = hmacKey;
+        this.active = active;
+        this.byId = byId;
+    }
+
+    /**
+     * @throws IllegalStateException when the configured key material is unusable
+     */
+    public static SigningKeyRing from(JwtProperties properties) {
+        JwtProperties.Signing signing = properties.signing();
+        SignatureAlgorithm algorithm = signing.algorithm();
+        if (algorithm == SignatureAlgorithm.NONE) {
+            throw new IllegalStateException("jwt.signing.algorithm must not be 'none'");
+        }
+        if (algorithm.isHmac()) {
+            Key hmacKey = hmacKey(properties.secret(), true);
+            return new SigningKeyRing(algorithm, hmacKey, new SigningKey(null, algorithm, hmacKey, null), Map.of());
+        }
+
+        Key legacyHmacKey = hmacKey(properties.secret(), false);
+        Map<String, SigningKey> byId = new LinkedHashMap<>();
+        for (JwtProperties.Key key : signing.keys()) {
+            byId.put(key.id(), asymmetricKey(algorithm, key));
+        }
+        if (byId.isEmpty()) {
+            KeyPair pair = Keys.keyPairFor(algorithm);
+            String kid = "ephemeral-" + UUID.randomUUID();
+            log.warn("No jwt.signing.keys configured, generated an in-memory {} key '{}'; tokens will not survive a restart", algorithm, kid);
+            byId.put(kid, new SigningKey(kid, algorithm, pair.getPrivate(), pair.getPublic()));
+        }
+        String activeId = signing.activeKeyId() != null ? signing.activeKeyId() : byId.keySet().iterator().next();
+        SigningKey active = byId.get(activeId);
+        if (active == null || active.privateKey() == null) {
+            throw new IllegalStateException("jwt.signing.active-key-id '" + activeId + "' must name a configured key with a private key");
+        }
+        return new SigningKeyRing(algorithm, legacyHmacKey, active, Collections.unmodifiableMap(byId));
+    }
+
+    public SigningKey active() {
+        return active;
+    }
+
+    public SignatureAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+        return resolve(header);
+    }
+
+    @Override
+    public Key resolveSigningKey(JwsHeader header, String plaintext) {
+        return resolve(header);
+    }
+
+    private Key resolve(JwsHeader<?> header) {
+        String kid = header.getKeyId();
+        if (kid == null) {
+            if (hmacKey == null) {
+                throw new UnsupportedJwtException("Token has no key id");
+            }
+            return hmacKey;
+        }
+        SigningKey key = byId.get(kid);
+        if (key == null) {
+            throw new UnsupportedJwtException("Unknown key id");
+        }
+        return key.publicKey();
+    }
+
+    /**
+     * Public keys of the ring as JWK objects, active key first. Empty for HMAC rings,
+     * since shared secrets are never published.
+     */
+    public List<Map<String, Object>> publicJwks() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        jwks.add(active.toJwk());
+        byId.values().stream()
+                .filter(key -> key != active)
+                .map(SigningKey::toJwk)
+                .forEach(jwks::add);
+        return jwks.stream().filter(jwk -> !jwk.isEmpty()).toList();
+    }
+
+    private static Key hmacKey(String secret, boolean required) {
+        if (secret == null || secret.isBlank()) {
+            if (required) {
+                throw new IllegalStateException("jwt.secret must be configured");
+            }
+            return null;
+        }
+        try {
+            byte[] keyBytes = Decoders.BASE64.decode(secret);
+            return Keys.hmacShaKeyFor(keyBytes);
+        } catch (DecodingException | WeakKeyException e) {
+            throw new IllegalStateException("jwt.secret must be a base64 encoded key of at least 256 bits", e);
+        }
+    }
+
+    private static SigningKey asymmetricKey(SignatureAlgorithm algorithm, JwtProperties.Key key) {
+        if (key.id() == null || key.id().isBlank() || key.publicKey() == null) {
+            throw new IllegalStateException("Every jwt.signing.keys entry needs an id and a public-key");
+        }
+        String family = algorithm.getFamilyName().equals("ECDSA") ? "EC" : "RSA";
+        try {
+            KeyFactory factory = KeyFactory.getInstance(family);
+            PublicKey publicKey = factory.generatePublic(new X509EncodedKeySpec(der(key.publicKey())));
+            PrivateKey privateKey = key.privateKey() == null
+                    ? null
+                    : factory.generatePrivate(new PKCS8EncodedKeySpec(der(key.privateKey())));
+            return new SigningKey(key.id(), algorithm, privateKey, publicKey);
+        } catch (GeneralSecurityException | IllegalArgumentException e) {
+            throw new IllegalStateException("jwt.signing.keys '" + key.id() + "' is not a valid " + family + " key", e);
+        }
+    }
+
+    private static byte[] der(String material) {
+        String base64 = material.replaceAll("-----[A-Z ]+-----", "").replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+
+    /**
+     * @param kid        key id, {@code null} for the HMAC key
+     * @param algorithm  algorithm the key signs with
+     * @param privateKey signing key, {@code null} for verify-only keys
+     * @param publicKey  verification key, {@code null} for the HMAC key
+     */
+    public record SigningKey(
+            String kid,
+            SignatureAlgorithm algorithm,
+            Key privateKey,
+            PublicKey publicKey
+    ) {
+
+        Map<String, Object> toJwk() {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            if (publicKey instanceof RSAPublicKey rsa) {
+                jwk.put("kty", "RSA");
+                jwk.put("n", base64Url(rsa.getModulus(), 0));
+                jwk.put("e", base64Url(rsa.getPublicExponent(), 0));
+            } else if (publicKey instanceof ECPublicKey ec) {
+                int size = (ec.getParams().getCurve().getField().getFieldSize() + 7) / 8;
+                jwk.put("kty", "EC");
+                jwk.put("crv", "P-" + ec.getParams().getCurve().getField().getFieldSize());
+                jwk.put("x", base64Url(ec.getW().getAffineX(), size));
+                jwk.put("y", base64Url(ec.getW().getAffineY(), size));
+            } else {
+                return jwk;
+            }
+            jwk.put("use", "sig");
+            jwk.put("alg", algorithm.getValue());
+            jwk.put("kid", kid);
+            return jwk;
+        }
+
+        private static String base64Url(BigInteger value, int length) {
+            byte[] bytes = value.toByteArray();
+            if (bytes.length > 1 && bytes[0] == 0) {
+                bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+            }
+            if (bytes.length < length) {
+                byte[] padded = new byte[length];
+                System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+                bytes = padded;
+            }
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.karan.simplejwt1.auth.jwt;
+
+import io.jsonwebtoken.JwtException;
+
+/**
+ * A token that would not fit the size budget of {@code jwt.claims.max-token-bytes}, so it is
+ * never handed out: clients and proxies cap header sizes, and every request pays for the bytes.
+ */
+public class TokenTooLargeException extends JwtException {
+    public TokenTooLargeException(String message) {
+        super(message);
+    }
+}
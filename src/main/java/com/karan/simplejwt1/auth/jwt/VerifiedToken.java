@@ -0,0 +1,96 @@
+package com.karan.simplejwt1.auth.jwt;
+
+import com.karan.simplejwt1.auth.authority.RoleSet;
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Result of a single successful parse of a signed token.
+ * <p>The signature has already been checked when an instance exists, so callers
+ * can read the subject and the timestamps without parsing the token again.
+ *
+ * @param id        the {@code jti} claim
+ * @param subject   the {@code sub} claim
+ * @param issuer    the {@code iss} claim
+ * @param issuedAt  the {@code iat} claim
+ * @param expiresAt the {@code exp} claim
+ * @param claims    every claim of the token, read-only
+ */
+public record VerifiedToken(
+        String id,
+        String subject,
+        String issuer,
+        Instant issuedAt,
+        Instant expiresAt,
+        Map<String, Object> claims
+) {
+
+    public VerifiedToken {
+        claims = Collections.unmodifiableMap(new LinkedHashMap<>(claims));
+    }
+
+    /**
+     * @param claims claims whose signature was already checked, for example those of an
+     *               {@link io.jsonwebtoken.ExpiredJwtException}
+     */
+    public static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                claims.getIssuer(),
+                toInstant(claims.getIssuedAt()),
+                toInstant(claims.getExpiration()),
+                claims
+        );
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && expiresAt.isBefore(now);
+    }
+
+    /**
+     * Rebuilds the principal from the identity claims.
+     *
+     * @return the principal, or {@code null} when the token predates those claims
+     */
+    public ClaimsPrincipal principal() {
+        Boolean enabled = claim(JwtClaims.ENABLED, Boolean.class);
+        Number version = claim(JwtClaims.USER_VERSION, Number.class);
+        Integer roles = roles();
+        if (subject == null || enabled == null || version == null || roles == null) {
+            return null;
+        }
+        Number userId = claim(JwtClaims.USER_ID, Number.class);
+        Number tokenVersion = claim(JwtClaims.TOKEN_VERSION, Number.class);
+        return new ClaimsPrincipal(subject, roles, enabled, version.longValue(),
+                userId == null ? null : userId.longValue(),
+                tokenVersion == null ? 0 : tokenVersion.intValue());
+    }
+
+    /**
+     * @return the {@link RoleSet} mask, or {@code null} when the token carries no roles
+     */
+    public Integer roles() {
+        Number roles = claim(JwtClaims.ROLES, Number.class);
+        if (roles != null) {
+            return roles.intValue();
+        }
+        List<?> authorities = claim(JwtClaims.AUTHORITIES, List.class);
+        return authorities == null ? null : RoleSet.fromAuthorities(authorities);
+    }
+
+    public <T> T claim(String name, Class<T> type) {
+        Object value = claims.get(name);
+        return type.isInstance(value) ? type.cast(value) : null;
+    }
+
+    private static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
+    }
+}
@@ -0,0 +1,153 @@
+package com.karan.simplejwt1.auth.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.karan.simplejwt1.auth.metrics.AuthMetrics;
+import com.karan.simplejwt1.config.JwtProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.jspecify.annotations.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Remembers tokens that already passed signature verification.
+ * <p>Entries are keyed by the SHA-256 digest of the token, so the raw bearer string
+ * is never retained. The cache is bounded by {@code jwt.cache.max-size} and every
+ * entry expires at the token's own {@code exp} claim, so a hit never outlives the token.
+ * Hit, miss and eviction counts are published as {@code cache.*} meters named
+ * {@value #CACHE_NAME}.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    static final String CACHE_NAME = "jwt.verified-tokens";
+
+    private final JwtService jwtService;
+    private final AuthMetrics metrics;
+    private final boolean enabled;
+    private final Cache<TokenDigest, VerifiedToken> cache;
+
+    public VerifiedTokenCache(JwtService jwtService, JwtProperties properties, AuthMetrics metrics) {
+        this.jwtService = jwtService;
+        this.metrics = metrics;
+        this.enabled = properties.cache().enabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.cache().maxSize())
+                .expireAfter(new UntilTokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the verified form of the token, checking the signature only on a cache miss.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token has to be verified and is invalid
+     */
+    public VerifiedToken verify(String token) {
+        return verify(token, 0);
+    }
+
+    /**
+     * Same as {@link #verify(String)} for a token that starts at {@code offset} of
+     * {@code source}, typically right after the scheme of an {@code Authorization} header.
+     * <p>A cache hit digests the token in place; it is only copied out on a miss.
+     */
+    public VerifiedToken verify(String source, int offset) {
+        if (!enabled) {
+            return metrics.tokenVerify().record(() -> jwtService.verify(source.substring(offset)));
+        }
+        TokenDigest key = TokenDigest.of(source, offset);
+        VerifiedToken cached = cache.getIfPresent(key);
+        if (cached != null && !cached.isExpired(Instant.now())) {
+            return cached;
+        }
+        VerifiedToken verified = metrics.tokenVerify().record(() -> jwtService.verify(source.substring(offset)));
+        cache.put(key, verified);
+        return verified;
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 256-bit digest of a token held as four longs instead of a hex string.
+     */
+    record TokenDigest(long w0, long w1, long w2, long w3) {
+
+        private static final int CHUNK_SIZE = 64;
+
+        static TokenDigest of(String token) {
+            return of(token, 0);
+        }
+
+        /**
+         * Digests the characters from {@code offset} on as US-ASCII, the way
+         * {@code getBytes(US_ASCII)} would, but through a small fixed chunk instead of a
+         * copy of the whole token.
+         */
+        static TokenDigest of(String source, int offset) {
+            MessageDigest sha256 = sha256();
+            byte[] chunk = new byte[CHUNK_SIZE];
+            int length = 0;
+            for (int i = offset; i < source.length(); i++) {
+                char c = source.charAt(i);
+                chunk[length++] = c < 0x80 ? (byte) c : (byte) '?';
+                if (length == CHUNK_SIZE) {
+                    sha256.update(chunk, 0, length);
+                    length = 0;
+                }
+            }
+            sha256.update(chunk, 0, length);
+            ByteBuffer digest = ByteBuffer.wrap(sha256.digest());
+            return new TokenDigest(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+        }
+
+        private static MessageDigest sha256() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<TokenDigest, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(TokenDigest key, VerifiedToken token, long currentTime) {
+            if (token.expiresAt() == null) {
+                return 0;
+            }
+            return Math.max(0, Duration.between(Instant.now(), token.expiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(TokenDigest key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(TokenDigest key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.karan.simplejwt1.auth.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Timers and counters of the auth hot path, all named {@code auth.*}.
+ * <p>Meters are registered once and kept in fields, so recording costs no registry lookup.
+ * Percentiles and histograms are not fixed here; they come from
+ * {@code management.metrics.distribution.*.auth} and can be tuned per deployment.
+ * <ul>
+ *     <li>{@code auth.login}, {@code auth.register}, {@code auth.refresh}: end to end</li>
+ *     <li>{@code auth.password.hash} / {@code auth.password.wait}: time hashing on, and queued for,
+ *     the hashing pool, tagged {@code operation=encode|matches}</li>
+ *     <li>{@code auth.user.lookup}: database read of a user, cache misses only</li>
+ *     <li>{@code auth.db.write}: user and refresh-token writes, tagged {@code operation}</li>
+ *     <li>{@code auth.token.generate} / {@code auth.token.verify}: signing and signature checks</li>
+ *     <li>{@code auth.filter}: token authentication of one request, excluding the rest of the chain</li>
+ *     <li>{@code auth.filter.failures}: rejected tokens, tagged by {@code exception} type</li>
+ *     <li>{@code auth.login.throttled}: logins refused before the password check, tagged by {@code reason}</li>
+ * </ul>
+ */
+@Component
+public class AuthMetrics {
+
+    private final MeterRegistry registry;
+
+    private final Timer login;
+    private final Timer register;
+    private final Timer refresh;
+    private final Timer hashEncode;
+    private final Timer hashMatches;
+    private final Timer waitEncode;
+    private final Timer waitMatches;
+    private final Timer userLookup;
+    private final Timer userWrite;
+    private final Timer refreshTokenWrite;
+    private final Timer tokenGenerate;
+    private final Timer tokenVerify;
+    private final Timer filter;
+    private final Map<Class<?>, Counter> filterFailures = new ConcurrentHashMap<>();
+    private final Map<String, Counter> loginThrottled = new ConcurrentHashMap<>();
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.login = timer("auth.login", "Login, from request to issued tokens");
+        this.register = timer("auth.register", "Registration, from request to issued tokens");
+        this.refresh = timer("auth.refresh", "Refresh token rotation and access token issue");
+        this.hashEncode = timer("auth.password.hash", "Time hashing on the pool", "operation", "encode");
+        this.hashMatches = timer("auth.password.hash", "Time hashing on the pool", "operation", "matches");
+        this.waitEncode = timer("auth.password.wait", "Time queued for the hashing pool", "operation", "encode");
+        this.waitMatches = timer("auth.password.wait", "Time queued for the hashing pool", "operation", "matches");
+        this.userLookup = timer("auth.user.lookup", "Database read of a user");
+        this.userWrite = timer("auth.db.write", "Database writes of the auth flows", "operation", "save_user");
+        this.refreshTokenWrite = timer("auth.db.write", "Database writes of the auth flows", "operation", "refresh_token");
+        this.tokenGenerate = timer("auth.token.generate", "Signing of an access token");
+        this.tokenVerify = timer("auth.token.verify", "Parsing and signature check of a token");
+        this.filter = timer("auth.filter", "Token authentication of one request");
+    }
+
+    /**
+     * Meters that record nothing, for code built outside of Spring.
+     */
+    public static AuthMetrics noop() {
+        return new AuthMetrics(new CompositeMeterRegistry());
+    }
+
+    private Timer timer(String name, String description, String... tags) {
+        return Timer.builder(name)
+                .description(description)
+                .tags(tags)
+                .register(registry);
+    }
+
+    public Timer login() {
+        return login;
+    }
+
+    public Timer register() {
+        return register;
+    }
+
+    public Timer refresh() {
+        return refresh;
+    }
+
+    public Timer hash(boolean encode) {
+        return encode ? hashEncode : hashMatches;
+    }
+
+    public Timer hashWait(boolean encode) {
+        return encode ? waitEncode : waitMatches;
+    }
+
+    public Timer userLookup() {
+        return userLookup;
+    }
+
+    public Timer userWrite() {
+        return userWrite;
+    }
+
+    public Timer refreshTokenWrite() {
+        return refreshTokenWrite;
+    }
+
+    public Timer tokenGenerate() {
+        return tokenGenerate;
+    }
+
+    public Timer tokenVerify() {
+        return tokenVerify;
+    }
+
+    public Timer filter() {
+        return filter;
+    }
+
+    public void filterFailure(Exception e) {
+        filterFailures.computeIfAbsent(e.getClass(), type -> Counter.builder("auth.filter.failures")
+                .description("Requests whose token was rejected")
+                .tag("exception", type.getSimpleName())
+                .register(registry)
+        ).increment();
+    }
+
+    public void loginThrottled(String reason) {
+        loginThrottled.computeIfAbsent(reason, key -> Counter.builder("auth.login.throttled")
+                .description("Login attempts refused before the password check")
+                .tag("reason", key)
+                .register(registry)
+        ).increment();
+    }
+}
@@ -0,0 +1,92 @@
+package com.karan.simplejwt1.auth.password;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.regex.Pattern;
+
+/**
+ * Password hashing algorithms, each tuned by one cost parameter.
+ * <p>The id is the {@code {id}} prefix stored in front of every hash. The cost bounds keep
+ * calibration within sane limits: the floor follows current OWASP guidance, the ceiling
+ * caps how much CPU a single login may take. The format is what the algorithm's encoder
+ * writes after the prefix, so hashes from elsewhere can be checked before they are stored.
+ */
+public enum HashAlgorithm {
+
+    /** Cost is the log2 of the number of rounds. */
+    BCRYPT("bcrypt", 10, 16, 12, true, "\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}") {
+        @Override
+        public PasswordEncoder encoder(int cost) {
+            return new BCryptPasswordEncoder(cost);
+        }
+    },
+
+    /** Cost is the number of passes over 19 MiB of memory. */
+    ARGON2("argon2", 2, 10, 2, false,
+            "\\$argon2(?:id|i|d)\\$v=\\d+\\$m=\\d+,t=\\d+,p=\\d+\\$[A-Za-z0-9+/]+=*\\$[A-Za-z0-9+/]+=*") {
+        @Override
+        public PasswordEncoder encoder(int cost) {
+            return new Argon2PasswordEncoder(16, 32, 1, 19 * 1024, cost);
+        }
+    },
+
+    /** Cost is the number of PBKDF2-HMAC-SHA256 iterations; the hash is hex of a 16-byte salt and 32-byte key. */
+    PBKDF2("pbkdf2", 600_000, 5_000_000, 600_000, false, "[0-9a-fA-F]{96}") {
+        @Override
+        public PasswordEncoder encoder(int cost) {
+            return new Pbkdf2PasswordEncoder("", 16, cost, Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256);
+        }
+    };
+
+    private final String id;
+    private final int minCost;
+    private final int maxCost;
+    private final int defaultCost;
+    private final boolean exponentialCost;
+    private final Pattern format;
+
+    HashAlgorithm(String id, int minCost, int maxCost, int defaultCost, boolean exponentialCost, String format) {
+        this.id = id;
+        this.minCost = minCost;
+        this.maxCost = maxCost;
+        this.defaultCost = defaultCost;
+        this.exponentialCost = exponentialCost;
+        this.format = Pattern.compile(format);
+    }
+
+    public abstract PasswordEncoder encoder(int cost);
+
+    public String id() {
+        return id;
+    }
+
+    public int minCost() {
+        return minCost;
+    }
+
+    public int maxCost() {
+        return maxCost;
+    }
+
+    public int defaultCost() {
+        return defaultCost;
+    }
+
+    /**
+     * @return {@code true} when each step of the cost doubles the hashing time
+     */
+    public boolean exponentialCost() {
+        return exponentialCost;
+    }
+
+    /**
+     * @param hash a hash without its {@code {id}} prefix
+     * @return {@code true} when the hash has the shape this algorithm's encoder writes
+     */
+    public boolean isWellFormed(String hash) {
+        return format.matcher(hash).matches();
+    }
+}
@@ -0,0 +1,69 @@
+package com.karan.simplejwt1.auth.password;
+
+import com.karan.simplejwt1.auth.metrics.AuthMetrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.AllArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * {@link PasswordEncoder} that runs {@code encode} and {@code matches} of its delegate on the
+ * {@link PasswordHashingExecutor}. The calling thread waits for the result, but the number of
+ * hashes running at once is bounded by the pool, and overflow fails fast.
+ * <p>Time spent queued and time spent hashing are recorded separately, so a slow login can be
+ * told apart from a saturated pool.
+ */
+@AllArgsConstructor
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+    private final AuthMetrics metrics;
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return hash(true, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(false, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Queues an encode without waiting for it, for callers hashing many passwords at once.
+     *
+     * @throws com.karan.simplejwt1.exception.ServiceBusyException if the queue is full
+     */
+    public Future<String> submitEncode(CharSequence rawPassword) {
+        return executor.submit(timed(true, () -> delegate.encode(rawPassword)));
+    }
+
+    private <T> T hash(boolean encode, Supplier<T> task) {
+        return executor.call(timed(encode, task));
+    }
+
+    private <T> Callable<T> timed(boolean encode, Supplier<T> task) {
+        Timer wait = metrics.hashWait(encode);
+        Timer hash = metrics.hash(encode);
+        long queuedAt = System.nanoTime();
+        return () -> {
+            long startedAt = System.nanoTime();
+            wait.record(startedAt - queuedAt, TimeUnit.NANOSECONDS);
+            try {
+                return task.get();
+            } finally {
+                hash.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        };
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
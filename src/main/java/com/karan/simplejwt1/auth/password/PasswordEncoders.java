@@ -0,0 +1,38 @@
+package com.karan.simplejwt1.auth.password;
+
+import com.karan.simplejwt1.config.AuthProperties;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Builds the {@link DelegatingPasswordEncoder} used for every credential check.
+ * <p>New hashes use {@code auth.hashing.algorithm} with either the configured cost or one
+ * calibrated against {@code auth.hashing.target-latency}. Hashes of the other algorithms
+ * still verify through their {@code {id}} prefix, and hashes stored before prefixes were
+ * introduced are read as BCrypt. Any stored hash that is not in the current algorithm, or
+ * is below the current cost, reports {@code upgradeEncoding == true} and is rehashed on the
+ * next successful login.
+ */
+public final class PasswordEncoders {
+
+    private PasswordEncoders() {
+    }
+
+    public static PasswordEncoder create(AuthProperties.Hashing properties) {
+        HashAlgorithm current = properties.algorithm();
+        int cost = properties.cost() > 0
+                ? properties.cost()
+                : PasswordHashCalibrator.calibrate(current, properties.targetLatency());
+
+        Map<String, PasswordEncoder> encoders = new HashMap<>();
+        for (HashAlgorithm algorithm : HashAlgorithm.values()) {
+            encoders.put(algorithm.id(), algorithm.encoder(algorithm == current ? cost : algorithm.defaultCost()));
+        }
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(current.id(), encoders);
+        encoder.setDefaultPasswordEncoderForMatches(encoders.get(HashAlgorithm.BCRYPT.id()));
+        return encoder;
+    }
+}
@@ -0,0 +1,53 @@
+package com.karan.simplejwt1.auth.password;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Picks the highest hashing cost whose {@code encode} stays within a target latency on the
+ * current hardware.
+ * <p>One hash is timed at the algorithm's minimum cost and the result is extrapolated:
+ * BCrypt time doubles per cost step, Argon2 and PBKDF2 time grows linearly with the cost.
+ * The chosen cost is always kept within the algorithm's bounds.
+ */
+@Slf4j
+public final class PasswordHashCalibrator {
+
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-Password-1";
+
+    private PasswordHashCalibrator() {
+    }
+
+    public static int calibrate(HashAlgorithm algorithm, Duration targetLatency) {
+        int baseCost = algorithm.minCost();
+        long baseNanos = medianEncodeNanos(algorithm.encoder(baseCost));
+        double budget = (double) targetLatency.toNanos() / Math.max(1, baseNanos);
+
+        long cost;
+        if (algorithm.exponentialCost()) {
+            cost = baseCost + (long) Math.floor(Math.log(budget) / Math.log(2));
+        } else {
+            cost = (long) Math.floor(baseCost * budget);
+        }
+        int chosen = Math.clamp(cost, algorithm.minCost(), algorithm.maxCost());
+        log.info("Calibrated {} cost to {} (base cost {} took {} ms, target {} ms)",
+                algorithm.id(), chosen, baseCost, baseNanos / 1_000_000, targetLatency.toMillis());
+        return chosen;
+    }
+
+    private static long medianEncodeNanos(PasswordEncoder encoder) {
+        encoder.encode(SAMPLE_PASSWORD);
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
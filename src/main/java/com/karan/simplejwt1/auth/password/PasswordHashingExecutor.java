@@ -0,0 +1,114 @@
+package com.karan.simplejwt1.auth.password;
+
+import com.karan.simplejwt1.config.AuthProperties;
+import com.karan.simplejwt1.exception.ServiceBusyException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fixed-size pool that runs the CPU-heavy password hashing away from the servlet threads.
+ * <p>The pool has one thread per core unless {@code auth.hashing.pool-size} says otherwise,
+ * and at most {@code auth.hashing.queue-capacity} hashes may wait for a thread. Work
+ * submitted beyond that is refused immediately with a {@link ServiceBusyException}, so a
+ * burst of logins can hold at most {@code pool-size + queue-capacity} request threads.
+ */
+@Slf4j
+public class PasswordHashingExecutor implements AutoCloseable {
+
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHashingExecutor(AuthProperties.Hashing properties) {
+        int poolSize = properties.poolSize() > 0
+                ? properties.poolSize()
+                : Runtime.getRuntime().availableProcessors();
+        int queueCapacity = properties.queueCapacity() > 0
+                ? properties.queueCapacity()
+                : poolSize * 4;
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new HashingThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.executor.prestartAllCoreThreads();
+        log.info("Password hashing pool : {} threads, queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * Runs the task on the hashing pool and waits for its result.
+     *
+     * @throws ServiceBusyException if the queue is full
+     */
+    public <T> T call(Callable<T> task) {
+        return await(submit(task));
+    }
+
+    /**
+     * Queues the task without waiting for it.
+     *
+     * @throws ServiceBusyException if the queue is full
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        try {
+            return executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            throw new ServiceBusyException("Too many concurrent credential checks, retry later");
+        }
+    }
+
+    public static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    public int poolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    public int queuedTasks() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    /**
+     * Always platform threads, even when request handling runs on virtual threads: hashing is
+     * CPU bound, and a bounded pool of carriers is what keeps it from starving everything else.
+     */
+    private static final class HashingThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
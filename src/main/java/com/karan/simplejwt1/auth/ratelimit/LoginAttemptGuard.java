@@ -0,0 +1,143 @@
+package com.karan.simplejwt1.auth.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.karan.simplejwt1.auth.metrics.AuthMetrics;
+import com.karan.simplejwt1.config.AuthProperties;
+import com.karan.simplejwt1.exception.TooManyRequestsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throttles login attempts before the password is hashed.
+ * <p>Every attempt takes a token from the bucket of its username and from the bucket of its
+ * client address. A username that keeps failing the password check is also locked, for
+ * {@code auth.login-limit.lockout} at first, then twice as long for every further failure,
+ * up to {@code max-lockout}. A successful login clears the lockout.
+ * <p>Buckets and lockouts are lock-free, see {@link TokenBucket}. They live in two bounded
+ * Caffeine maps that forget keys idle for {@code idle-timeout}, so a spray over many
+ * usernames or addresses cannot grow them without bound.
+ */
+@Component
+@Slf4j
+public class LoginAttemptGuard {
+
+    private static final int MAX_LOCKOUT_DOUBLINGS = 20;
+
+    private final AuthProperties.LoginLimit limit;
+    private final AuthMetrics metrics;
+    private final Ticker ticker;
+    private final TokenBucket userBucket;
+    private final TokenBucket ipBucket;
+    private final Cache<String, UserAttempts> users;
+    private final Cache<String, AtomicLong> addresses;
+
+    @Autowired
+    public LoginAttemptGuard(AuthProperties properties, AuthMetrics metrics) {
+        this(properties.loginLimit(), metrics, Ticker.systemTicker());
+    }
+
+    public LoginAttemptGuard(AuthProperties.LoginLimit limit, AuthMetrics metrics, Ticker ticker) {
+        this.limit = limit;
+        this.metrics = metrics;
+        this.ticker = ticker;
+        this.userBucket = new TokenBucket(limit.userBurst(), limit.userRefill());
+        this.ipBucket = new TokenBucket(limit.ipBurst(), limit.ipRefill());
+        this.users = newMap(limit, ticker);
+        this.addresses = newMap(limit, ticker);
+    }
+
+    private static <V> Cache<String, V> newMap(AuthProperties.LoginLimit limit, Ticker ticker) {
+        return Caffeine.newBuilder()
+                .maximumSize(limit.maxKeys())
+                .expireAfterAccess(limit.idleTimeout())
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * Takes one attempt for the username and the address.
+     *
+     * @throws TooManyRequestsException if the username is locked or either bucket is empty
+     */
+    public void acquire(String username, String clientAddress) {
+        if (!limit.enabled()) {
+            return;
+        }
+        long now = ticker.read();
+        if (username != null) {
+            UserAttempts attempts = users.get(username, key -> new UserAttempts(now));
+            long lockedFor = attempts.lockedUntil - now;
+            if (lockedFor > 0) {
+                throw throttled("lockout", lockedFor);
+            }
+            long wait = userBucket.tryAcquire(attempts.bucket, now);
+            if (wait > 0) {
+                throw throttled("username", wait);
+            }
+        }
+        if (clientAddress != null) {
+            long wait = ipBucket.tryAcquire(addresses.get(clientAddress, key -> TokenBucket.newState()), now);
+            if (wait > 0) {
+                throw throttled("address", wait);
+            }
+        }
+    }
+
+    /**
+     * Counts a wrong password, and locks the username once the failures reach the threshold.
+     */
+    public void onFailure(String username) {
+        if (!limit.enabled() || username == null) {
+            return;
+        }
+        long now = ticker.read();
+        UserAttempts attempts = users.get(username, key -> new UserAttempts(now));
+        int failures = attempts.failures.incrementAndGet();
+        if (failures >= limit.lockoutThreshold()) {
+            long base = limit.lockout().toNanos();
+            // never shift into the sign bit: long lockouts reach max-lockout instead of wrapping
+            int doublings = Math.min(Math.min(failures - limit.lockoutThreshold(), MAX_LOCKOUT_DOUBLINGS),
+                    Long.numberOfLeadingZeros(base) - 1);
+            long lockout = Math.min(base << doublings, limit.maxLockout().toNanos());
+            attempts.lockedUntil = now + lockout;
+            log.warn("Login locked for {} ms after {} failures, for username : {}",
+                    Duration.ofNanos(lockout).toMillis(), failures, username);
+        }
+    }
+
+    public void onSuccess(String username) {
+        if (!limit.enabled() || username == null) {
+            return;
+        }
+        UserAttempts attempts = users.getIfPresent(username);
+        if (attempts != null) {
+            attempts.failures.set(0);
+            attempts.lockedUntil = ticker.read();
+        }
+    }
+
+    private TooManyRequestsException throttled(String reason, long waitNanos) {
+        metrics.loginThrottled(reason);
+        // whole seconds for Retry-After, never 0
+        Duration retryAfter = Duration.ofSeconds(Math.max(1, (waitNanos + 999_999_999) / 1_000_000_000));
+        return new TooManyRequestsException("Too many login attempts, limited by " + reason, retryAfter);
+    }
+
+    private static final class UserAttempts {
+        private final AtomicLong bucket = TokenBucket.newState();
+        private final AtomicInteger failures = new AtomicInteger();
+        /** Ticker reading, compared by difference; starts at creation, i.e. not locked. */
+        private volatile long lockedUntil;
+
+        private UserAttempts(long now) {
+            this.lockedUntil = now;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.karan.simplejwt1.auth.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket in its GCRA form: the whole state of one key is a single {@code long}, the
+ * theoretical arrival time of the next attempt, updated with one compare-and-set.
+ * <p>Instances only hold the rate; the per-key state lives in the caller's map.
+ */
+final class TokenBucket {
+
+    private final long refillNanos;
+    private final long toleranceNanos;
+
+    TokenBucket(int burst, Duration refill) {
+        if (burst < 1) {
+            throw new IllegalArgumentException("burst must be at least 1");
+        }
+        this.refillNanos = refill.toNanos();
+        this.toleranceNanos = refillNanos * (burst - 1);
+    }
+
+    static AtomicLong newState() {
+        return new AtomicLong(Long.MIN_VALUE);
+    }
+
+    /**
+     * Takes one token.
+     *
+     * @return {@code 0} if a token was taken, otherwise the nanoseconds until the next one
+     */
+    long tryAcquire(AtomicLong state, long now) {
+        while (true) {
+            long arrival = state.get();
+            long base = Math.max(arrival, now);
+            long allowedAt = base - toleranceNanos;
+            if (now < allowedAt) {
+                return allowedAt - now;
+            }
+            if (state.compareAndSet(arrival, base + refillNanos)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.karan.simplejwt1.auth.reactive;
+
+import org.springframework.security.authentication.AbstractAuthenticationToken;
+
+import java.util.List;
+
+/**
+ * Unauthenticated request for authentication carrying the raw token from the
+ * {@code Authorization} header.
+ */
+public class BearerToken extends AbstractAuthenticationToken {
+
+    private final String token;
+
+    public BearerToken(String token) {
+        super(List.of());
+        this.token = token;
+        setAuthenticated(false);
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    @Override
+    public Object getCredentials() {
+        return token;
+    }
+
+    @Override
+    public Object getPrincipal() {
+        return token;
+    }
+}
@@ -0,0 +1,21 @@
+package com.karan.simplejwt1.auth.reactive;
+
+import com.karan.simplejwt1.auth.filter.TokenAuthenticator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Turns a bearer {@code Authorization} header into a {@link BearerToken}; requests without
+ * one complete empty and continue unauthenticated.
+ */
+public class BearerTokenServerAuthenticationConverter implements ServerAuthenticationConverter {
+
+    @Override
+    public Mono<Authentication> convert(ServerWebExchange exchange) {
+        String token = TokenAuthenticator.bearerToken(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+        return token == null ? Mono.empty() : Mono.just(new BearerToken(token));
+    }
+}
@@ -0,0 +1,73 @@
+package com.karan.simplejwt1.auth.reactive;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.karan.simplejwt1.auth.repo.UserChangedEvent;
+import com.karan.simplejwt1.config.AuthProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Non-blocking user lookup for the reactive pipeline.
+ * <p>A cached user is returned without leaving the calling thread. A miss runs the blocking
+ * lookup once on {@code scheduler}, normally {@code Schedulers.boundedElastic()}, so the event
+ * loop never waits on JDBC; concurrent misses share that load. Entries follow the same
+ * {@code auth.user-cache} settings and {@link UserChangedEvent} eviction as the servlet cache.
+ */
+@Slf4j
+public class CachedReactiveUserDetailsService implements ReactiveUserDetailsService, ApplicationListener<PayloadApplicationEvent<UserChangedEvent>>, MeterBinder {
+
+    static final String CACHE_NAME = "auth.users.reactive";
+
+    private final Function<String, Optional<? extends UserDetails>> lookup;
+    private final Executor blockingExecutor;
+    private final AsyncCache<String, UserDetails> cache;
+
+    public CachedReactiveUserDetailsService(
+            Function<String, Optional<? extends UserDetails>> lookup,
+            Scheduler scheduler,
+            AuthProperties.UserCache properties
+    ) {
+        this.lookup = lookup;
+        this.blockingExecutor = scheduler::schedule;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.ttl())
+                .maximumSize(properties.enabled() ? properties.maxSize() : 0)
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * @return the user, or an empty {@code Mono} if there is none
+     */
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        return Mono.fromFuture(() -> cache.get(username, (key, executor) ->
+                CompletableFuture.supplyAsync(() -> lookup.apply(key).orElse(null), blockingExecutor)));
+    }
+
+    @Override
+    public void onApplicationEvent(PayloadApplicationEvent<UserChangedEvent> event) {
+        log.debug("Evicting cached user : {}", event.getPayload().username());
+        cache.synchronous().invalidate(event.getPayload().username());
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
@@ -0,0 +1,56 @@
+package com.karan.simplejwt1.auth.reactive;
+
+import com.karan.simplejwt1.auth.filter.TokenAuthenticator;
+import com.karan.simplejwt1.auth.jwt.ClaimsPrincipal;
+import com.karan.simplejwt1.auth.jwt.VerifiedToken;
+import com.karan.simplejwt1.auth.metrics.AuthMetrics;
+import io.jsonwebtoken.JwtException;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@code JwtFilter}: the same {@link TokenAuthenticator} checks, run
+ * on the event loop, with the user loaded through a {@link ReactiveUserDetailsService}.
+ */
+@AllArgsConstructor
+@Slf4j
+public class JwtReactiveAuthenticationManager implements ReactiveAuthenticationManager {
+
+    private final TokenAuthenticator authenticator;
+    private final ReactiveUserDetailsService userDetailsService;
+    private final AuthMetrics metrics;
+
+    @Override
+    public Mono<Authentication> authenticate(Authentication authentication) {
+        if (!(authentication instanceof BearerToken bearer)) {
+            return Mono.empty();
+        }
+        VerifiedToken verified;
+        try {
+            verified = authenticator.verify(bearer.getToken());
+        } catch (JwtException e) {
+            log.debug("JWT validation failed: {}", e.getClass().getSimpleName());
+            metrics.filterFailure(e);
+            return Mono.error(new BadCredentialsException("Invalid or expired token", e));
+        }
+        return resolveUser(verified)
+                .filter(user -> authenticator.accepts(verified, user))
+                .switchIfEmpty(Mono.error(() -> new BadCredentialsException("Invalid or expired token")))
+                .map(user -> UsernamePasswordAuthenticationToken.authenticated(user, null, user.getAuthorities()));
+    }
+
+    private Mono<UserDetails> resolveUser(VerifiedToken token) {
+        ClaimsPrincipal principal = authenticator.statelessPrincipal(token);
+        if (principal != null) {
+            return Mono.just(principal);
+        }
+        return userDetailsService.findByUsername(token.subject());
+    }
+}
@@ -0,0 +1,67 @@
+package com.karan.simplejwt1.auth.repo;
+
+import com.karan.simplejwt1.auth.authority.RoleHolder;
+import com.karan.simplejwt1.auth.authority.RoleSet;
+import com.karan.simplejwt1.entity.SimpleUser;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * The columns a login and the filter need, read by a constructor query instead of loading
+ * the {@link SimpleUser} entity: nothing enters the persistence context, and the cached
+ * principal is immutable, so no one can erase or change its password in place.
+ * <p>Writes still go through the entity.
+ */
+public record AuthenticatedUser(
+        Long id,
+        String username,
+        String password,
+        String email,
+        boolean enabled,
+        int roles,
+        Long version,
+        int tokenVersion,
+        Instant updatedAt
+) implements UserDetails, RoleHolder {
+
+    public static AuthenticatedUser of(SimpleUser user) {
+        return new AuthenticatedUser(user.getId(), user.getUsername(), user.getPassword(), user.getEmail(),
+                user.isEnabled(), user.getRoles(), user.getVersion(), user.getTokenVersion(), user.getUpdatedAt());
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return RoleSet.authorities(roles);
+    }
+
+    @Override
+    public int getRoles() {
+        return roles;
+    }
+
+    @Override
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Leaves the password hash out of logs.
+     */
+    @Override
+    public String toString() {
+        return "AuthenticatedUser[id=" + id + ", username=" + username + ", enabled=" + enabled + ", roles=" + roles + "]";
+    }
+}
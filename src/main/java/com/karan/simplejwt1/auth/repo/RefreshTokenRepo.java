@@ -0,0 +1,44 @@
+package com.karan.simplejwt1.auth.repo;
+
+import com.karan.simplejwt1.entity.RefreshToken;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepo extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Marks the token used only if nobody else did first.
+     *
+     * @return {@code 1} when this caller won the rotation, {@code 0} when the token was
+     * already used or is revoked
+     */
+    @Modifying
+    @Query("update RefreshToken r set r.usedAt = :now where r.id = :id and r.usedAt is null and r.revoked = false")
+    int markUsed(Long id, Instant now);
+
+    /**
+     * Tells a rotated token, whose reuse means a leak, from one that was only revoked.
+     */
+    boolean existsByIdAndUsedAtIsNotNull(Long id);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.familyId = :familyId")
+    int revokeFamily(String familyId);
+
+    @Modifying
+    @Query("update RefreshToken r set r.revoked = true where r.username = :username and r.revoked = false")
+    int revokeAllForUser(String username);
+
+    @Query("select r.id from RefreshToken r where r.expiresAt < :now")
+    List<Long> findExpiredIds(Instant now, Limit limit);
+}
@@ -0,0 +1,46 @@
+package com.karan.simplejwt1.auth.repo;
+
+import com.karan.simplejwt1.entity.SimpleUser;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JPA entity listener that turns writes to {@link SimpleUser} into {@link UserChangedEvent}s.
+ * <p>Inside a transaction the event is deferred until commit, so listeners never reload
+ * the row before the new state is visible. Instantiated by Hibernate through Spring's
+ * bean container.
+ */
+@AllArgsConstructor
+public class SimpleUserChangeListener {
+
+    private final ApplicationEventPublisher publisher;
+
+    @PostPersist
+    @PostUpdate
+    public void onChange(SimpleUser user) {
+        publishAfterCommit(new UserChangedEvent(user.getId(), user.getUsername(), user.getTokenVersion(), false));
+    }
+
+    @PostRemove
+    public void onRemove(SimpleUser user) {
+        publishAfterCommit(new UserChangedEvent(user.getId(), user.getUsername(), user.getTokenVersion(), true));
+    }
+
+    private void publishAfterCommit(UserChangedEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publisher.publishEvent(event);
+                }
+            });
+        } else {
+            publisher.publishEvent(event);
+        }
+    }
+}
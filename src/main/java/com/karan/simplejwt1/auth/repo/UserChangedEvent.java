@@ -0,0 +1,18 @@
+package com.karan.simplejwt1.auth.repo;
+
+/**
+ * Published once a {@link com.karan.simplejwt1.entity.SimpleUser} row has been inserted,
+ * updated or deleted and the surrounding transaction, if any, has committed.
+ *
+ * @param id           primary key of the user
+ * @param username     username of the user
+ * @param tokenVersion token version of the user after the change
+ * @param removed      whether the row was deleted
+ */
+public record UserChangedEvent(
+        Long id,
+        String username,
+        int tokenVersion,
+        boolean removed
+) {
+}
@@ -1,20 +1,78 @@
 package com.karan.simplejwt1.auth.repo;
 
 import com.karan.simplejwt1.entity.SimpleUser;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepo extends JpaRepository<SimpleUser, Long> {
 
+    int STREAM_FETCH_SIZE = 500;
+
+    /**
+     * Cacheable in the query cache; that and the entity cache are only enabled by the
+     * {@code prod} profile.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<SimpleUser> findByUsername(String username);
 
+    /**
+     * What a login and the filter need, without loading the entity; cacheable like
+     * {@link #findByUsername}.
+     */
+    @Query("SELECT new com.karan.simplejwt1.auth.repo.AuthenticatedUser(u.id, u.username, u.password, u.email, u.isEnabled, u.roles, u.version, u.tokenVersion, u.updatedAt) from SimpleUser u where u.username = :username")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Optional<AuthenticatedUser> findAuthenticatedUserByUsername(String username);
+
+    @Query("SELECT u.username from SimpleUser u where u.username in :usernames")
+    List<String> findExistingUsernames(Collection<String> usernames);
+
+    @Query("SELECT u.id as id, u.username as username, u.email as email, u.isEnabled as enabled, u.roles as roles, u.version as version, u.tokenVersion as tokenVersion, u.updatedAt as updatedAt from SimpleUser u where u.username = :username")
+    Optional<UserTokenView> findTokenViewByUsername(String username);
+
+    @Query("SELECT u.id as id, u.tokenVersion as tokenVersion from SimpleUser u")
+    List<UserTokenVersion> findAllTokenVersions();
+
+    @Query("SELECT u.id as id, u.tokenVersion as tokenVersion from SimpleUser u where u.updatedAt >= :since")
+    List<UserTokenVersion> findTokenVersionsUpdatedSince(Instant since);
+
+    /**
+     * Loads every enabled user as an entity; for large tables use the {@link Slice}, keyset or
+     * streamed variants below.
+     */
     @Query("SELECT u from SimpleUser u where u.isEnabled")
     List<SimpleUser> findEnabledUsers(); // can rename to :: findAllByIsEnabledIsTrue
 
+    @Query("SELECT u.id as id, u.username as username, u.email as email, u.isEnabled as enabled, u.roles as roles, u.updatedAt as updatedAt from SimpleUser u where u.isEnabled")
+    Slice<UserSummary> findEnabledUsers(Pageable pageable);
+
+    /**
+     * Keyset page: the enabled users with an id above {@code afterId}, in id order. Served
+     * from the primary key index at the same cost on any page, unlike an offset.
+     */
+    @Query("SELECT u.id as id, u.username as username, u.email as email, u.isEnabled as enabled, u.roles as roles, u.updatedAt as updatedAt from SimpleUser u where u.isEnabled and u.id > :afterId order by u.id")
+    List<UserSummary> findEnabledUsersAfter(long afterId, Limit limit);
+
+    /**
+     * Reads the rows through an open cursor, {@value #STREAM_FETCH_SIZE} at a time; must be
+     * consumed inside a transaction and closed.
+     */
+    @Query("SELECT u.id as id, u.username as username, u.email as email, u.isEnabled as enabled, u.roles as roles, u.updatedAt as updatedAt from SimpleUser u where u.isEnabled order by u.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE))
+    Stream<UserSummary> streamEnabledUsers();
+
 }
 
@@ -0,0 +1,21 @@
+package com.karan.simplejwt1.auth.repo;
+
+import java.time.Instant;
+
+/**
+ * A user as listed to administrators: no password hash, no versions.
+ */
+public interface UserSummary {
+
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    boolean isEnabled();
+
+    int getRoles();
+
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,11 @@
+package com.karan.simplejwt1.auth.repo;
+
+/**
+ * Id and token version of a user, used to fill and sync the in-memory token version registry.
+ */
+public interface UserTokenVersion {
+
+    Long getId();
+
+    int getTokenVersion();
+}
@@ -0,0 +1,26 @@
+package com.karan.simplejwt1.auth.repo;
+
+import java.time.Instant;
+
+/**
+ * The columns needed to issue an access token and describe its user in the response, read
+ * without loading the {@code SimpleUser} entity.
+ */
+public interface UserTokenView {
+
+    Long getId();
+
+    String getUsername();
+
+    String getEmail();
+
+    boolean isEnabled();
+
+    int getRoles();
+
+    Long getVersion();
+
+    int getTokenVersion();
+
+    Instant getUpdatedAt();
+}
@@ -0,0 +1,217 @@
+package com.karan.simplejwt1.auth.revocation;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Concurrent {@code long -> int} map without boxing, built for many readers and rare writers.
+ * <p>Keys are spread over independent stripes, each an open-addressing table guarded by a
+ * {@link StampedLock}. Reads are optimistic: they probe the table without locking and only
+ * retry under the read lock if a write to the same stripe happened meanwhile.
+ * {@link Long#MIN_VALUE} is reserved and cannot be used as a key.
+ */
+public final class StripedLongIntMap {
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+
+    /**
+     * @param concurrency expected number of concurrent writers, rounded up to a power of two
+     */
+    public StripedLongIntMap(int concurrency) {
+        int count = Integer.highestOneBit(Math.max(1, concurrency - 1) << 1);
+        this.stripes = new Stripe[count];
+        this.stripeMask = count - 1;
+        for (int i = 0; i < count; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /**
+     * @return the value mapped to {@code key}, or {@code missing} if there is none
+     */
+    public int get(long key, int missing) {
+        long hash = mix(key);
+        return stripes[(int) (hash >>> 32) & stripeMask].get(key, hash, missing);
+    }
+
+    public void put(long key, int value) {
+        checkKey(key);
+        long hash = mix(key);
+        stripes[(int) (hash >>> 32) & stripeMask].put(key, hash, value, false);
+    }
+
+    /**
+     * Stores {@code value} unless a greater value is already mapped, so updates that arrive
+     * out of order never move a key backwards.
+     */
+    public void putIfGreater(long key, int value) {
+        checkKey(key);
+        long hash = mix(key);
+        stripes[(int) (hash >>> 32) & stripeMask].put(key, hash, value, true);
+    }
+
+    public void remove(long key) {
+        long hash = mix(key);
+        stripes[(int) (hash >>> 32) & stripeMask].remove(key, hash);
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.readLock();
+            try {
+                size += stripe.size;
+            } finally {
+                stripe.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Long.MIN_VALUE is reserved");
+        }
+    }
+
+    private static long mix(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return h ^ (h >>> 29);
+    }
+
+    /**
+     * Keys and values are replaced together on resize, so a reader always sees arrays of the same length.
+     */
+    private record Table(long[] keys, int[] values) {
+
+        static Table ofCapacity(int capacity) {
+            long[] keys = new long[capacity];
+            Arrays.fill(keys, EMPTY);
+            return new Table(keys, new int[capacity]);
+        }
+    }
+
+    private static final class Stripe {
+
+        private final StampedLock lock = new StampedLock();
+        private Table table = Table.ofCapacity(16);
+        private int size;
+
+        int get(long key, long hash, int missing) {
+            long stamp = lock.tryOptimisticRead();
+            int value = probe(table, key, hash, missing);
+            if (lock.validate(stamp)) {
+                return value;
+            }
+            stamp = lock.readLock();
+            try {
+                return probe(table, key, hash, missing);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        void put(long key, long hash, int value, boolean onlyIfGreater) {
+            long stamp = lock.writeLock();
+            try {
+                long[] keys = table.keys();
+                int mask = keys.length - 1;
+                int i = (int) hash & mask;
+                while (keys[i] != EMPTY) {
+                    if (keys[i] == key) {
+                        if (!onlyIfGreater || value > table.values()[i]) {
+                            table.values()[i] = value;
+                        }
+                        return;
+                    }
+                    i = (i + 1) & mask;
+                }
+                keys[i] = key;
+                table.values()[i] = value;
+                // keep the load factor at or below one half so probes stay short
+                if (++size * 2 > keys.length) {
+                    resize();
+                }
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        void remove(long key, long hash) {
+            long stamp = lock.writeLock();
+            try {
+                long[] keys = table.keys();
+                int[] values = table.values();
+                int mask = keys.length - 1;
+                int i = (int) hash & mask;
+                while (keys[i] != key) {
+                    if (keys[i] == EMPTY) {
+                        return;
+                    }
+                    i = (i + 1) & mask;
+                }
+                // backward-shift deletion keeps every remaining key reachable from its home slot
+                int j = i;
+                while (true) {
+                    j = (j + 1) & mask;
+                    if (keys[j] == EMPTY) {
+                        break;
+                    }
+                    int home = (int) mix(keys[j]) & mask;
+                    boolean between = i <= j ? (i < home && home <= j) : (i < home || home <= j);
+                    if (!between) {
+                        keys[i] = keys[j];
+                        values[i] = values[j];
+                        i = j;
+                    }
+                }
+                keys[i] = EMPTY;
+                size--;
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+
+        private void resize() {
+            Table old = table;
+            Table grown = Table.ofCapacity(old.keys().length * 2);
+            int mask = grown.keys().length - 1;
+            for (int k = 0; k < old.keys().length; k++) {
+                long key = old.keys()[k];
+                if (key != EMPTY) {
+                    int i = (int) mix(key) & mask;
+                    while (grown.keys()[i] != EMPTY) {
+                        i = (i + 1) & mask;
+                    }
+                    grown.keys()[i] = key;
+                    grown.values()[i] = old.values()[k];
+                }
+            }
+            table = grown;
+        }
+
+        /**
+         * May run concurrently with a writer; bounded so that a torn read cannot loop forever,
+         * the caller discards the result if the stamp no longer validates.
+         */
+        private static int probe(Table table, long key, long hash, int missing) {
+            long[] keys = table.keys();
+            int mask = keys.length - 1;
+            int i = (int) hash & mask;
+            for (int n = 0; n <= mask; n++) {
+                long candidate = keys[i];
+                if (candidate == key) {
+                    return table.values()[i];
+                }
+                if (candidate == EMPTY) {
+                    return missing;
+                }
+                i = (i + 1) & mask;
+            }
+            return missing;
+        }
+    }
+}
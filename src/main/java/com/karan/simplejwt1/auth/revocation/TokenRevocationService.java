@@ -0,0 +1,129 @@
+package com.karan.simplejwt1.auth.revocation;
+
+import com.karan.simplejwt1.auth.jwt.VerifiedToken;
+import com.karan.simplejwt1.auth.repo.RevokedTokenRepo;
+import com.karan.simplejwt1.config.JwtProperties;
+import com.karan.simplejwt1.entity.RevokedToken;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Deny-list of tokens revoked before their expiry.
+ * <p>The database is the source of truth; every node keeps the live entries in memory behind
+ * a {@link BloomFilter}. A token that was never revoked is cleared by the filter alone, so the
+ * common case costs a few hash probes and no lookup. A filter hit is confirmed against the
+ * in-memory set. Expired rows are pruned, and the snapshot is reloaded from the database,
+ * every {@code jwt.revocation.sync-interval}, which is also how revocations made on other
+ * nodes arrive.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private final RevokedTokenRepo revokedTokenRepo;
+    private final JwtProperties.Revocation properties;
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private volatile Snapshot snapshot;
+
+    public TokenRevocationService(RevokedTokenRepo revokedTokenRepo, JwtProperties properties) {
+        this.revokedTokenRepo = revokedTokenRepo;
+        this.properties = properties.revocation();
+        this.snapshot = new Snapshot(newFilter(0), new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Lock free; the only shared state read is the volatile snapshot.
+     */
+    public boolean isRevoked(VerifiedToken token) {
+        String jti = token.id();
+        if (jti == null) {
+            return false;
+        }
+        Snapshot current = snapshot;
+        return current.filter().mightContain(jti) && current.revoked().containsKey(jti);
+    }
+
+    /**
+     * Rejects the token on this node right away and on other nodes after their next sync.
+     * Tokens without a {@code jti} predate revocation support and cannot be revoked.
+     *
+     * @return {@code false} if the token has no {@code jti} or was already revoked
+     */
+    public boolean revoke(VerifiedToken token) {
+        String jti = token.id();
+        if (jti == null || token.expiresAt() == null) {
+            return false;
+        }
+        writeLock.lock();
+        try {
+            if (isRevoked(token) || revokedTokenRepo.existsByJti(jti)) {
+                return false;
+            }
+            RevokedToken revoked = new RevokedToken();
+            revoked.setJti(jti);
+            revoked.setExpiresAt(token.expiresAt());
+            revokedTokenRepo.save(revoked);
+
+            Snapshot current = snapshot;
+            current.revoked().put(jti, token.expiresAt());
+            current.filter().put(jti);
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Token revoked for : {}", token.subject());
+        return true;
+    }
+
+    /**
+     * Deletes expired rows and rebuilds the filter from the live ones. A Bloom filter cannot
+     * forget values, so rebuilding is also what keeps its false positive rate from creeping up.
+     */
+    @PostConstruct
+    @Scheduled(
+            initialDelayString = "${jwt.revocation.sync-interval:1m}",
+            fixedDelayString = "${jwt.revocation.sync-interval:1m}"
+    )
+    public void sync() {
+        Instant now = Instant.now();
+        writeLock.lock();
+        try {
+            int pruned = revokedTokenRepo.deleteExpired(now);
+            Map<String, Instant> live = new ConcurrentHashMap<>();
+            for (RevokedToken row : revokedTokenRepo.findByExpiresAtAfter(now)) {
+                live.put(row.getJti(), row.getExpiresAt());
+            }
+            BloomFilter filter = newFilter(live.size());
+            live.keySet().forEach(filter::put);
+            snapshot = new Snapshot(filter, live);
+            if (pruned > 0) {
+                log.info("Pruned {} expired revocations, {} still active", pruned, live.size());
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    public int activeRevocations() {
+        return snapshot.revoked().size();
+    }
+
+    private BloomFilter newFilter(int entries) {
+        // room to grow until the next sync without degrading the false positive rate
+        long capacity = Math.max(properties.expectedRevocations(), 2L * entries);
+        return BloomFilter.create(capacity, properties.falsePositiveRate());
+    }
+
+    private record Snapshot(
+            BloomFilter filter,
+            Map<String, Instant> revoked
+    ) {
+    }
+}
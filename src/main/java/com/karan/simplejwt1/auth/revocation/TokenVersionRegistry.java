@@ -0,0 +1,114 @@
+package com.karan.simplejwt1.auth.revocation;
+
+import com.karan.simplejwt1.auth.jwt.JwtClaims;
+import com.karan.simplejwt1.auth.jwt.VerifiedToken;
+import com.karan.simplejwt1.auth.repo.UserChangedEvent;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.repo.UserTokenVersion;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Current token version of every user, keyed by user id, held in memory.
+ * <p>Bumping {@code SimpleUser.tokenVersion} invalidates every token issued before, which is
+ * how "log out everywhere" works without storing anything per token. The map is filled from
+ * the database at startup and kept current by local {@link UserChangedEvent}s. Every
+ * {@code jwt.revocation.sync-interval} it reads the rows updated since the previous sync, so a
+ * logout everywhere on another node takes effect here too without rereading the whole table.
+ * The filter checks a token with one lock-free probe and no database read.
+ * <p>Versions only ever grow, and a removed user keeps a {@link #REMOVED} tombstone instead of
+ * losing its entry, so none of its tokens become "unknown" and acceptable again.
+ */
+@Component
+@Slf4j
+public class TokenVersionRegistry implements ApplicationListener<PayloadApplicationEvent<UserChangedEvent>> {
+
+    private static final int UNKNOWN = -1;
+    /** Version of a removed user, newer than any token it was ever issued. */
+    static final int REMOVED = Integer.MAX_VALUE;
+    /**
+     * How far each sync reaches back before the previous one: covers clock skew between nodes
+     * and transactions that commit a while after they stamped {@code updatedAt}.
+     */
+    static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final StripedLongIntMap versions = new StripedLongIntMap(Runtime.getRuntime().availableProcessors());
+    private final UserRepo userRepo;
+    private volatile Instant syncedUpTo = Instant.EPOCH;
+
+    public TokenVersionRegistry(UserRepo userRepo) {
+        this.userRepo = userRepo;
+    }
+
+    @PostConstruct
+    public void warm() {
+        Instant started = Instant.now();
+        log.info("Token versions loaded for {} users", load(userRepo.findAllTokenVersions()));
+        syncedUpTo = started;
+    }
+
+    /**
+     * Picks up version bumps made on other nodes; a version is never lowered.
+     */
+    @Scheduled(
+            initialDelayString = "${jwt.revocation.sync-interval:1m}",
+            fixedDelayString = "${jwt.revocation.sync-interval:1m}"
+    )
+    public void sync() {
+        Instant started = Instant.now();
+        int count = load(userRepo.findTokenVersionsUpdatedSince(syncedUpTo.minus(SYNC_OVERLAP)));
+        syncedUpTo = started;
+        log.debug("Token versions synced for {} changed users", count);
+    }
+
+    private int load(List<UserTokenVersion> users) {
+        int count = 0;
+        for (UserTokenVersion user : users) {
+            versions.putIfGreater(user.getId(), user.getTokenVersion());
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * A token is stale when it carries an older version than the user's current one. Tokens
+     * without a user id predate the claim and are left to expire; a missing version counts as 0.
+     */
+    public boolean isStale(VerifiedToken token) {
+        Number userId = token.claim(JwtClaims.USER_ID, Number.class);
+        if (userId == null) {
+            return false;
+        }
+        Number tokenVersion = token.claim(JwtClaims.TOKEN_VERSION, Number.class);
+        int current = versions.get(userId.longValue(), UNKNOWN);
+        return current != UNKNOWN && (tokenVersion == null ? 0 : tokenVersion.intValue()) < current;
+    }
+
+    public int currentVersion(long userId) {
+        return versions.get(userId, 0);
+    }
+
+    @Override
+    public void onApplicationEvent(PayloadApplicationEvent<UserChangedEvent> event) {
+        update(event.getPayload());
+    }
+
+    public void update(UserChangedEvent event) {
+        if (event.id() == null) {
+            return;
+        }
+        if (event.removed()) {
+            versions.putIfGreater(event.id(), REMOVED);
+        } else {
+            versions.putIfGreater(event.id(), event.tokenVersion());
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.karan.simplejwt1.auth.service;
+
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.repo.UserSummary;
+import com.karan.simplejwt1.domain.AdminUserPage;
+import com.karan.simplejwt1.domain.AdminUserResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.SequenceWriter;
+import tools.jackson.databind.SerializationFeature;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Lists users to administrators without ever holding the whole table: pages are keyset pages
+ * on the id, and the export streams rows from a database cursor straight to the response.
+ */
+@Service
+@Slf4j
+public class AdminUserService {
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private final UserRepo userRepo;
+    private final ObjectWriter ndjsonWriter;
+
+    public AdminUserService(UserRepo userRepo, ObjectMapper objectMapper) {
+        this.userRepo = userRepo;
+        // one value per line; no flush per row, the response buffer decides when bytes go out
+        this.ndjsonWriter = objectMapper.writerFor(AdminUserResponse.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+    }
+
+    /**
+     * @param afterId the last id of the previous page, {@code 0} for the first
+     * @param limit   page size, capped at {@value #MAX_PAGE_SIZE}
+     */
+    public AdminUserPage enabledUsers(long afterId, int limit) {
+        int size = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        List<UserSummary> rows = userRepo.findEnabledUsersAfter(afterId, Limit.of(size));
+        List<AdminUserResponse> users = new ArrayList<>(rows.size());
+        for (UserSummary row : rows) {
+            users.add(AdminUserResponse.of(row));
+        }
+        Long nextAfter = rows.size() < size ? null : users.getLast().id();
+        return new AdminUserPage(users, nextAfter);
+    }
+
+    /**
+     * Writes every enabled user as NDJSON, in id order.
+     * <p>The rows come from an open cursor, {@link UserRepo#STREAM_FETCH_SIZE} at a time, and
+     * are projections, not entities, so the persistence context stays empty; memory does not
+     * depend on the size of the table. The read-only transaction is what lets drivers such as
+     * PostgreSQL's use a cursor at all, and it holds a connection until the client has read
+     * the last row.
+     *
+     * @return the number of users written
+     */
+    @Transactional(readOnly = true)
+    public long exportEnabledUsers(OutputStream out) {
+        long count = 0;
+        try (Stream<UserSummary> rows = userRepo.streamEnabledUsers();
+             SequenceWriter writer = ndjsonWriter.writeValues(out)) {
+            for (UserSummary row : (Iterable<UserSummary>) rows::iterator) {
+                writer.write(AdminUserResponse.of(row));
+                count++;
+            }
+        }
+        log.info("Exported {} users", count);
+        return count;
+    }
+}
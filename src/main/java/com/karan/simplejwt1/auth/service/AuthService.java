@@ -1,14 +1,27 @@
 package com.karan.simplejwt1.auth.service;
 
+import com.karan.simplejwt1.auth.claims.ClaimsEnricher;
+import com.karan.simplejwt1.auth.jwt.ClaimsPrincipal;
+import com.karan.simplejwt1.auth.jwt.JwtClaims;
 import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.jwt.TokenTooLargeException;
+import com.karan.simplejwt1.auth.repo.AuthenticatedUser;
 import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.jwt.VerifiedToken;
+import com.karan.simplejwt1.auth.metrics.AuthMetrics;
+import com.karan.simplejwt1.auth.repo.UserTokenView;
+import com.karan.simplejwt1.auth.revocation.TokenRevocationService;
 import com.karan.simplejwt1.domain.AuthRequest;
 import com.karan.simplejwt1.domain.AuthResponse;
+import com.karan.simplejwt1.domain.RefreshRequest;
 import com.karan.simplejwt1.domain.RegisterRequest;
 import com.karan.simplejwt1.domain.UserDataResponse;
 import com.karan.simplejwt1.entity.SimpleUser;
 import com.karan.simplejwt1.exception.InvalidCredentialsException;
 import com.karan.simplejwt1.exception.NotFoundException;
+import com.karan.simplejwt1.exception.ServiceBusyException;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Timer;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.hibernate.exception.ConstraintViolationException;
@@ -16,9 +29,12 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+
 @Service
 @Slf4j
 @AllArgsConstructor
@@ -28,34 +44,63 @@ public class AuthService implements IAuthService{
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final UserRepo userRepo;
+    private final RefreshTokenService refreshTokenService;
+    private final TokenRevocationService revocationService;
+    private final AuthMetrics metrics;
+    private final ClaimsEnricher claimsEnricher;
 
     @Override
     public AuthResponse logIn(AuthRequest authRequest) {
         AuthResponse response;
+        Timer.Sample sample = Timer.start();
         try{
             String username = authRequest.username();
             String pass = authRequest.password();
-            authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, pass));
-            SimpleUser user = userRepo.findByUsername(username)
-                    .orElseThrow(() -> new NotFoundException(String.format("username : [%s] not found",username)));
+            Authentication authentication =
+                    authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(username, pass));
+            AuthenticatedUser user = authenticatedUser(authentication, username);
 
-            String token = jwtService.generateToken(user.getUsername());
-            UserDataResponse userData = new UserDataResponse(user.getUsername() , user.getEmail(), user.getUpdatedAt());
-            response = new AuthResponse(token, userData);
+            Map<String, Object> claims = claimsEnricher.claims(user);
+            String token = metrics.tokenGenerate().record(() -> jwtService.generateToken(user, claims));
+            String refreshToken = metrics.refreshTokenWrite().record(() -> refreshTokenService.issue(user.getUsername()));
+            UserDataResponse userData = new UserDataResponse(user.username(), user.email(), user.updatedAt());
+            response = new AuthResponse(token, refreshToken, userData);
         } catch (BadCredentialsException e) {
             log.error("Invalid username or password, for username : {}", authRequest.username());
             throw new InvalidCredentialsException(String.format("Invalid username or password, for username : %s",authRequest.username()));
+        } catch (ServiceBusyException e) {
+            log.warn("Login rejected, password hashing pool is full, for username : {}", authRequest.username());
+            throw e;
+        } catch (TokenTooLargeException e) {
+            log.error("Token too large for username : {} \nMessage : {}", authRequest.username(), e.getMessage());
+            throw e;
         }catch (Exception e){
             log.error("Error while logging in with username : {} \nMessage : {}", authRequest.username(), e.getMessage());
             throw new RuntimeException(String.format("Error while logging in with username : %s \n Message : %s", authRequest.username(), e.getMessage()));
+        } finally {
+            sample.stop(metrics.login());
         }
         log.info("Login Success for : {}", authRequest.username());
         return response;
     }
 
+    /**
+     * The authentication provider already loaded the user to check the password, so the
+     * principal it returns is reused; the projection is only read when the principal
+     * is not an {@link AuthenticatedUser}.
+     */
+    private AuthenticatedUser authenticatedUser(Authentication authentication, String username) {
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user;
+        }
+        return userRepo.findAuthenticatedUserByUsername(username)
+                .orElseThrow(() -> new NotFoundException(String.format("username : [%s] not found",username)));
+    }
+
     @Override
     public AuthResponse register(RegisterRequest request) {
         AuthResponse response;
+        Timer.Sample sample = Timer.start();
         try{
             String username = request.username();
             String pass = passwordEncoder.encode(request.password());
@@ -67,21 +112,106 @@ public class AuthService implements IAuthService{
             user.setEmail(email);
             user.setEnabled(true);
 
-            userRepo.save(user);
-            String token = jwtService.generateToken(user.getUsername());
+            metrics.userWrite().record(() -> userRepo.save(user));
+            Map<String, Object> claims = claimsEnricher.claims(user);
+            String token = metrics.tokenGenerate().record(() -> jwtService.generateToken(user, claims));
+            String refreshToken = metrics.refreshTokenWrite().record(() -> refreshTokenService.issue(user.getUsername()));
 
             UserDataResponse userData = new UserDataResponse(user.getUsername() , user.getEmail(), user.getUpdatedAt());
-            response = new AuthResponse(token, userData);
+            response = new AuthResponse(token, refreshToken, userData);
+        }catch (ServiceBusyException e){
+            log.warn("Registration rejected, password hashing pool is full, for username : {}", request.username());
+            throw e;
         }catch (DataIntegrityViolationException | ConstraintViolationException e){
             log.error("Something Invalid in credentials {} \n Message : {}", request.username(), e.getMessage());
             throw new InvalidCredentialsException(String.format("Error while registering with username : %s \n Message : %s", request.username(), e.getMessage()));
+        }catch (TokenTooLargeException e){
+            log.error("Token too large for username : {} \n Message : {}", request.username(), e.getMessage());
+            throw e;
         }
         catch (RuntimeException e) {
             log.error("Error while registering with username : {} \n Message : {}", request.username(), e.getMessage());
             throw new RuntimeException(String.format("Error while registering with username : %s \n Message : %s", request.username(), e.getMessage()));
 
+        } finally {
+            sample.stop(metrics.register());
         }
         log.info("Registration done for : {}", request.username());
         return response;
     }
+
+    /**
+     * Trades a refresh token for a new access token and its rotated successor.
+     * <p>No password is checked and the entity is not loaded: the claims come from a
+     * projection of the columns the token carries.
+     */
+    @Override
+    public AuthResponse refresh(RefreshRequest request) {
+        return metrics.refresh().record(() -> rotate(request));
+    }
+
+    private AuthResponse rotate(RefreshRequest request) {
+        if (request.refreshToken() == null || request.refreshToken().isBlank()) {
+            throw new InvalidCredentialsException("Refresh token is required");
+        }
+        RefreshTokenService.Rotation rotation =
+                metrics.refreshTokenWrite().record(() -> refreshTokenService.rotate(request.refreshToken()));
+        UserTokenView user = userRepo.findTokenViewByUsername(rotation.username())
+                .filter(UserTokenView::isEnabled)
+                .orElseThrow(() -> new InvalidCredentialsException(
+                        String.format("Refresh rejected, user disabled or removed : %s", rotation.username())));
+
+        Long version = user.getVersion();
+        ClaimsPrincipal principal = new ClaimsPrincipal(user.getUsername(), user.getRoles(), true,
+                version == null ? 0L : version, user.getId(), user.getTokenVersion());
+        Map<String, Object> claims = claimsEnricher.claims(principal);
+        String token = metrics.tokenGenerate().record(() -> jwtService.generateToken(principal, claims));
+        log.info("Token refreshed for : {}", user.getUsername());
+        return new AuthResponse(token, rotation.refreshToken(), new UserDataResponse(user.getUsername(), user.getEmail(), user.getUpdatedAt()));
+    }
+
+    /**
+     * Revokes the presented access token so it is refused before it expires.
+     */
+    @Override
+    public void logOut(String token) {
+        VerifiedToken verified = verifiedToken(token);
+        revocationService.revoke(verified);
+        log.info("Logout done for : {}", verified.subject());
+    }
+
+    /**
+     * Bumps the user's token version, which invalidates every access token issued so far,
+     * and revokes all of the user's refresh tokens.
+     */
+    @Override
+    public void logOutEverywhere(String token) {
+        VerifiedToken verified = verifiedToken(token);
+        SimpleUser user = userRepo.findByUsername(verified.subject())
+                .orElseThrow(() -> new InvalidCredentialsException("Invalid or expired token"));
+        Number tokenVersion = verified.claim(JwtClaims.TOKEN_VERSION, Number.class);
+        if (tokenVersion != null && tokenVersion.intValue() < user.getTokenVersion()) {
+            throw new InvalidCredentialsException("Invalid or expired token");
+        }
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepo.save(user);
+        int refreshTokens = refreshTokenService.revokeAll(user.getUsername());
+        log.info("Logout everywhere done for : {}, {} refresh tokens revoked", user.getUsername(), refreshTokens);
+    }
+
+    /**
+     * The auth endpoints are not behind {@code JwtFilter}, so the deny-list is checked here.
+     */
+    private VerifiedToken verifiedToken(String token) {
+        VerifiedToken verified;
+        try {
+            verified = jwtService.verify(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidCredentialsException("Invalid or expired token");
+        }
+        if (revocationService.isRevoked(verified)) {
+            throw new InvalidCredentialsException("Invalid or expired token");
+        }
+        return verified;
+    }
 }
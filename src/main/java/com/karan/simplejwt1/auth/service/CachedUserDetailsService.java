@@ -0,0 +1,84 @@
+package com.karan.simplejwt1.auth.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.karan.simplejwt1.auth.repo.UserChangedEvent;
+import com.karan.simplejwt1.config.AuthProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.jspecify.annotations.NonNull;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Read-through cache in front of a {@link UserDetailsService}.
+ * <p>Entries live for {@code auth.user-cache.ttl} and the cache holds at most
+ * {@code auth.user-cache.max-size} users. Concurrent misses for the same username
+ * wait on a single load instead of each querying the database. A user is dropped as
+ * soon as a {@link UserChangedEvent} reports a write to its row. Failed lookups are
+ * not cached.
+ * <p>The cache holds futures and the load runs on the calling thread after the future is
+ * registered, so no map lock is held during the database call and a virtual thread waiting
+ * on another thread's load parks instead of blocking its carrier.
+ */
+@Slf4j
+public class CachedUserDetailsService implements UserDetailsService, ApplicationListener<PayloadApplicationEvent<UserChangedEvent>>, MeterBinder {
+
+    static final String CACHE_NAME = "auth.users";
+
+    private final UserDetailsService delegate;
+    private final AsyncCache<String, UserDetails> cache;
+
+    public CachedUserDetailsService(UserDetailsService delegate, AuthProperties.UserCache properties) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(properties.ttl())
+                .maximumSize(properties.maxSize())
+                .recordStats()
+                .buildAsync();
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) {
+        CompletableFuture<UserDetails> created = new CompletableFuture<>();
+        CompletableFuture<UserDetails> future = cache.get(username, (key, executor) -> created);
+        if (future == created) {
+            try {
+                created.complete(delegate.loadUserByUsername(username));
+            } catch (RuntimeException e) {
+                created.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(PayloadApplicationEvent<UserChangedEvent> event) {
+        evict(event.getPayload());
+    }
+
+    public void evict(UserChangedEvent event) {
+        log.debug("Evicting cached user : {}", event.username());
+        cache.synchronous().invalidate(event.username());
+    }
+
+    @Override
+    public void bindTo(@NonNull MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+}
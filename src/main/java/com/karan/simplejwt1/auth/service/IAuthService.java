@@ -2,6 +2,7 @@ package com.karan.simplejwt1.auth.service;
 
 import com.karan.simplejwt1.domain.AuthRequest;
 import com.karan.simplejwt1.domain.AuthResponse;
+import com.karan.simplejwt1.domain.RefreshRequest;
 import com.karan.simplejwt1.domain.RegisterRequest;
 
 public interface IAuthService {
@@ -10,4 +11,10 @@ public interface IAuthService {
 
     AuthResponse register(RegisterRequest registerRequest);
 
+    AuthResponse refresh(RefreshRequest refreshRequest);
+
+    void logOut(String token);
+
+    void logOutEverywhere(String token);
+
 }
@@ -0,0 +1,146 @@
+package com.karan.simplejwt1.auth.service;
+
+import com.karan.simplejwt1.auth.repo.RefreshTokenRepo;
+import com.karan.simplejwt1.config.AuthProperties;
+import com.karan.simplejwt1.entity.RefreshToken;
+import com.karan.simplejwt1.exception.InvalidCredentialsException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ * <p>A refresh token is 256 random bits handed to the client once; the store only keeps its
+ * SHA-256, the owner's username and the rotation family. Each use marks the row used and
+ * issues a successor in the same family. Presenting a used token again means it leaked, so
+ * the whole family is revoked. A token that was revoked before it was ever used, by a logout,
+ * is simply refused. Expired rows are deleted in batches on a schedule.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepo refreshTokenRepo;
+    private final AuthProperties.Refresh properties;
+
+    public RefreshTokenService(RefreshTokenRepo refreshTokenRepo, AuthProperties properties) {
+        this.refreshTokenRepo = refreshTokenRepo;
+        this.properties = properties.refresh();
+    }
+
+    /**
+     * Starts a new rotation family for the user.
+     *
+     * @return the raw refresh token to hand to the client
+     */
+    @Transactional
+    public String issue(String username) {
+        return issue(username, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consumes the token and issues its successor.
+     *
+     * @throws InvalidCredentialsException if the token is unknown, expired, revoked or already used
+     */
+    @Transactional(noRollbackFor = InvalidCredentialsException.class)
+    public Rotation rotate(String rawToken) {
+        Instant now = Instant.now();
+        RefreshToken stored = refreshTokenRepo.findByTokenHash(hash(rawToken))
+                .orElseThrow(() -> new InvalidCredentialsException("Invalid refresh token"));
+        if (stored.getExpiresAt().isBefore(now)) {
+            throw new InvalidCredentialsException("Refresh token expired");
+        }
+        if (refreshTokenRepo.markUsed(stored.getId(), now) == 0) {
+            if (!refreshTokenRepo.existsByIdAndUsedAtIsNotNull(stored.getId())) {
+                log.info("Revoked refresh token presented for : {}", stored.getUsername());
+                throw new InvalidCredentialsException("Refresh token revoked");
+            }
+            refreshTokenRepo.revokeFamily(stored.getFamilyId());
+            log.warn("Refresh token reuse detected for : {}, token family revoked", stored.getUsername());
+            throw new InvalidCredentialsException("Refresh token reuse detected");
+        }
+        return new Rotation(stored.getUsername(), issue(stored.getUsername(), stored.getFamilyId()));
+    }
+
+    /**
+     * Revokes every refresh token of the user, in all families.
+     *
+     * @return number of revoked tokens
+     */
+    @Transactional
+    public int revokeAll(String username) {
+        return refreshTokenRepo.revokeAllForUser(username);
+    }
+
+    /**
+     * Deletes expired tokens {@code auth.refresh.purge-batch-size} rows at a time, each batch
+     * in its own transaction so the table is never locked for long.
+     *
+     * @return number of deleted rows
+     */
+    @Scheduled(fixedDelayString = "${auth.refresh.purge-interval:1h}")
+    public int purgeExpired() {
+        Instant now = Instant.now();
+        int purged = 0;
+        List<Long> ids;
+        do {
+            ids = refreshTokenRepo.findExpiredIds(now, Limit.of(properties.purgeBatchSize()));
+            if (!ids.isEmpty()) {
+                refreshTokenRepo.deleteAllByIdInBatch(ids);
+                purged += ids.size();
+            }
+        } while (ids.size() == properties.purgeBatchSize());
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+        return purged;
+    }
+
+    private String issue(String username, String familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String rawToken = BASE64_URL.encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(rawToken));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setUsername(username);
+        refreshToken.setExpiresAt(Instant.now().plus(properties.ttl()));
+        refreshTokenRepo.save(refreshToken);
+        return rawToken;
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.US_ASCII));
+            return BASE64_URL.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @param username     owner of the consumed token
+     * @param refreshToken raw successor token
+     */
+    public record Rotation(
+            String username,
+            String refreshToken
+    ) {
+    }
+}
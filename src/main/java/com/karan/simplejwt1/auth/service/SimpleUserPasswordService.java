@@ -0,0 +1,36 @@
+package com.karan.simplejwt1.auth.service;
+
+import com.karan.simplejwt1.auth.repo.AuthenticatedUser;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.entity.SimpleUser;
+import com.karan.simplejwt1.exception.NotFoundException;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.stereotype.Service;
+
+/**
+ * Persists a rehashed password after a successful login.
+ * <p>The authentication provider calls this whenever the stored hash is older than the
+ * current hashing policy, so {@link AuthService#logIn} upgrades users transparently without
+ * a password reset. Rare enough that it loads and saves the entity; the principal returned
+ * is the same projection the login started with.
+ */
+@Service
+@Slf4j
+@AllArgsConstructor
+public class SimpleUserPasswordService implements UserDetailsPasswordService {
+
+    private final UserRepo userRepo;
+
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        SimpleUser stored = userRepo.findByUsername(user.getUsername())
+                .orElseThrow(() -> new NotFoundException(String.format("username : [%s] not found", user.getUsername())));
+        stored.setPassword(newPassword);
+        SimpleUser saved = userRepo.save(stored);
+        log.info("Password hash upgraded for : {}", user.getUsername());
+        return AuthenticatedUser.of(saved);
+    }
+}
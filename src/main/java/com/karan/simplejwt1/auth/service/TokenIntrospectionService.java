@@ -0,0 +1,125 @@
+package com.karan.simplejwt1.auth.service;
+
+import com.karan.simplejwt1.auth.filter.TokenAuthenticator;
+import com.karan.simplejwt1.auth.jwt.RejectedTokenException;
+import com.karan.simplejwt1.auth.jwt.VerifiedToken;
+import com.karan.simplejwt1.config.AuthProperties;
+import com.karan.simplejwt1.domain.TokenIntrospection;
+import com.karan.simplejwt1.exception.BadRequestException;
+import com.karan.simplejwt1.exception.NotFoundException;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Tells other services whether tokens are still valid, a whole batch per call, so a gateway
+ * pays one round-trip for many tokens.
+ * <p>Every token goes through the same {@link TokenAuthenticator#verify} as a request: the
+ * verified-token cache, then signature, expiry, revocation and logout-everywhere checks. Those
+ * are CPU only, so batches of {@value #PARALLEL_THRESHOLD} tokens or more are verified on the
+ * cores of the common fork-join pool; smaller ones on the calling thread, where forking would
+ * cost more than it saves.
+ * <p>A verified token is then held to {@link TokenAuthenticator#accepts}, as in the filter, so a
+ * disabled or removed user's token is never reported active. The user comes from the token
+ * claims in stateless mode, otherwise from the cached {@link UserDetailsService}, which may
+ * query the database: those lookups stay on the calling request thread, a virtual thread, and
+ * each subject of the batch is looked up once.
+ */
+@Service
+public class TokenIntrospectionService {
+
+    static final int PARALLEL_THRESHOLD = 8;
+
+    private final TokenAuthenticator authenticator;
+    private final UserDetailsService userDetailsService;
+    private final int maxBatchSize;
+
+    public TokenIntrospectionService(TokenAuthenticator authenticator, UserDetailsService userDetailsService,
+                                     AuthProperties properties) {
+        this.authenticator = authenticator;
+        this.userDetailsService = userDetailsService;
+        this.maxBatchSize = properties.introspection().maxBatchSize();
+    }
+
+    /**
+     * @return one result per token, in the same order
+     * @throws BadRequestException if the batch is larger than {@code auth.introspection.max-batch-size}
+     */
+    public List<TokenIntrospection> introspect(List<String> tokens) {
+        if (tokens == null || tokens.isEmpty()) {
+            return List.of();
+        }
+        if (tokens.size() > maxBatchSize) {
+            throw new BadRequestException("Introspection batch of " + tokens.size() + " tokens, at most " + maxBatchSize + " allowed");
+        }
+        Stream<String> stream = tokens.size() < PARALLEL_THRESHOLD ? tokens.stream() : tokens.parallelStream();
+        List<Check> checks = stream.map(this::check).toList();
+        Map<String, Optional<UserDetails>> users = new HashMap<>();
+        return checks.stream().map(check -> resolve(check, users)).toList();
+    }
+
+    public TokenIntrospection introspect(String token) {
+        return resolve(check(token), new HashMap<>());
+    }
+
+    /**
+     * The CPU-only part: everything up to, but not including, the user lookup.
+     */
+    private Check check(String token) {
+        if (token == null || token.isBlank()) {
+            return Check.done(TokenIntrospection.Status.INVALID);
+        }
+        try {
+            return new Check(authenticator.verify(token), null);
+        } catch (ExpiredJwtException e) {
+            // the signature is checked before the expiry, so these claims are genuine
+            return new Check(null, TokenIntrospection.of(TokenIntrospection.Status.EXPIRED, VerifiedToken.from(e.getClaims())));
+        } catch (RejectedTokenException e) {
+            return Check.done(TokenIntrospection.Status.REVOKED);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Check.done(TokenIntrospection.Status.INVALID);
+        }
+    }
+
+    private TokenIntrospection resolve(Check check, Map<String, Optional<UserDetails>> users) {
+        VerifiedToken token = check.verified();
+        if (token == null) {
+            return check.result();
+        }
+        UserDetails user = authenticator.statelessPrincipal(token);
+        if (user == null && token.subject() != null) {
+            user = users.computeIfAbsent(token.subject(), this::lookUp).orElse(null);
+        }
+        boolean accepted = user != null && authenticator.accepts(token, user);
+        return TokenIntrospection.of(accepted
+                ? TokenIntrospection.Status.ACTIVE
+                : TokenIntrospection.Status.INACTIVE, token);
+    }
+
+    private Optional<UserDetails> lookUp(String username) {
+        try {
+            return Optional.of(userDetailsService.loadUserByUsername(username));
+        } catch (UsernameNotFoundException | NotFoundException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Either a verified token still waiting for its user, or the final result.
+     */
+    private record Check(VerifiedToken verified, TokenIntrospection result) {
+
+        static Check done(TokenIntrospection.Status status) {
+            return new Check(null, TokenIntrospection.of(status));
+        }
+    }
+}
@@ -0,0 +1,405 @@
+package com.karan.simplejwt1.auth.service;
+
+import com.karan.simplejwt1.auth.authority.RoleSet;
+import com.karan.simplejwt1.auth.password.HashAlgorithm;
+import com.karan.simplejwt1.auth.password.OffloadingPasswordEncoder;
+import com.karan.simplejwt1.auth.password.PasswordHashingExecutor;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.config.AuthProperties;
+import com.karan.simplejwt1.domain.UserImportFailure;
+import com.karan.simplejwt1.domain.UserImportReport;
+import com.karan.simplejwt1.domain.UserImportRow;
+import com.karan.simplejwt1.entity.SimpleUser;
+import com.karan.simplejwt1.exception.ServiceBusyException;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Service;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Pattern;
+
+/**
+ * Imports users from a stream of NDJSON or CSV rows.
+ * <p>Rows are read lazily and handled in chunks of {@code auth.bulk-import.batch-size}: one
+ * query finds the usernames that already exist, the plain passwords are hashed in parallel on
+ * the {@link PasswordHashingExecutor}, and the chunk is written with JDBC batching through a
+ * {@link org.hibernate.StatelessSession}, in its own transaction. No connection is held while
+ * passwords are hashed.
+ * <p>At most {@code hash-parallelism} hashes of an import are in flight at once, so logins keep
+ * the rest of the pool. Rows that cannot be imported are reported, not thrown; a chunk whose
+ * batch insert fails is retried row by row to find the offending rows.
+ * <p>Stateless inserts skip the entity listeners. New rows have nothing cached yet, so no
+ * {@link com.karan.simplejwt1.auth.repo.UserChangedEvent} is needed; the query cache is
+ * evicted after each chunk, since it would otherwise keep answering "not found".
+ */
+@Service
+@Slf4j
+public class UserImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final int MAX_USERNAME_LENGTH = 255;
+    private static final Pattern ROLE_SEPARATOR = Pattern.compile("[|\\s]+");
+    private static final long BUSY_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final UserRepo userRepo;
+    private final OffloadingPasswordEncoder passwordEncoder;
+    private final SessionFactory sessionFactory;
+    private final ObjectMapper objectMapper;
+    private final AuthProperties.BulkImport properties;
+    private final int hashWindow;
+
+    public UserImportService(UserRepo userRepo,
+                             OffloadingPasswordEncoder passwordEncoder,
+                             PasswordHashingExecutor hashingExecutor,
+                             EntityManagerFactory entityManagerFactory,
+                             ObjectMapper objectMapper,
+                             AuthProperties properties) {
+        this.userRepo = userRepo;
+        this.passwordEncoder = passwordEncoder;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.objectMapper = objectMapper;
+        this.properties = properties.bulkImport();
+        this.hashWindow = this.properties.hashParallelism() > 0
+                ? this.properties.hashParallelism()
+                : Math.max(1, hashingExecutor.poolSize() / 2);
+    }
+
+    public UserImportReport importUsers(Reader input, Format format) {
+        Import result = new Import(properties.maxReportedFailures());
+        long startedAt = System.nanoTime();
+        try (BufferedReader reader = new BufferedReader(input)) {
+            long lineNumber = 0;
+            List<String> columns = null;
+            List<Row> chunk = new ArrayList<>(properties.batchSize());
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                if (format == Format.CSV && columns == null) {
+                    columns = csvHeader(line);
+                    if (columns == null) {
+                        result.fail(lineNumber, null, "CSV header must name a username column");
+                        break;
+                    }
+                    continue;
+                }
+                result.rows++;
+                Row row = parse(lineNumber, line, format, columns, result);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == properties.batchSize()) {
+                    importChunk(chunk, result);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, result);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read the import", e);
+        }
+        log.info("Imported {} of {} users in {} ms, {} failed", result.imported, result.rows,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt), result.failed);
+        return UserImportReport.builder()
+                .rows(result.rows)
+                .imported(result.imported)
+                .failed(result.failed)
+                .failures(result.failures)
+                .build();
+    }
+
+    private Row parse(long lineNumber, String line, Format format, List<String> columns, Import result) {
+        UserImportRow row;
+        try {
+            row = format == Format.NDJSON
+                    ? objectMapper.readValue(line, UserImportRow.class)
+                    : csvRow(columns, line);
+        } catch (JacksonException | IllegalArgumentException e) {
+            result.fail(lineNumber, null, "malformed row");
+            return null;
+        }
+        String username = row.username() == null ? null : row.username().trim();
+        if (username == null || username.isEmpty()) {
+            result.fail(lineNumber, null, "username is required");
+            return null;
+        }
+        if (username.length() > MAX_USERNAME_LENGTH) {
+            result.fail(lineNumber, username, "username is longer than " + MAX_USERNAME_LENGTH);
+            return null;
+        }
+        boolean hasPassword = row.password() != null && !row.password().isEmpty();
+        boolean hasHash = row.passwordHash() != null && !row.passwordHash().isEmpty();
+        if (hasPassword == hasHash) {
+            result.fail(lineNumber, username, "exactly one of password and passwordHash is required");
+            return null;
+        }
+        String hash = null;
+        if (hasHash) {
+            hash = storedHash(row.passwordHash());
+            if (hash == null) {
+                result.fail(lineNumber, username, "unsupported or malformed password hash");
+                return null;
+            }
+        }
+        int roles;
+        try {
+            roles = row.roles() == null || row.roles().isEmpty() ? RoleSet.DEFAULT : RoleSet.parse(row.roles());
+        } catch (IllegalArgumentException e) {
+            result.fail(lineNumber, username, "unknown role");
+            return null;
+        }
+        return new Row(lineNumber, username, row.password(), hash, row.email(), row.enabled() == null || row.enabled(), roles);
+    }
+
+    /**
+     * @return the hash in the {@code {id}hash} form the delegating encoder reads, or
+     * {@code null} if it is not one the encoder can check: an unknown prefix, or a body that
+     * does not have the shape of its algorithm's hashes
+     */
+    static String storedHash(String hash) {
+        if (HashAlgorithm.BCRYPT.isWellFormed(hash)) {
+            return "{" + HashAlgorithm.BCRYPT.id() + "}" + hash;
+        }
+        for (HashAlgorithm algorithm : HashAlgorithm.values()) {
+            String prefix = "{" + algorithm.id() + "}";
+            if (hash.startsWith(prefix)) {
+                return algorithm.isWellFormed(hash.substring(prefix.length())) ? hash : null;
+            }
+        }
+        return null;
+    }
+
+    private void importChunk(List<Row> chunk, Import result) {
+        Map<String, Row> unique = new LinkedHashMap<>();
+        for (Row row : chunk) {
+            if (unique.putIfAbsent(row.username, row) != null) {
+                result.fail(row.line, row.username, "duplicate username in import");
+            }
+        }
+        Set<String> existing = new HashSet<>(userRepo.findExistingUsernames(unique.keySet()));
+        List<Row> rows = new ArrayList<>(unique.size());
+        for (Row row : unique.values()) {
+            if (existing.contains(row.username)) {
+                result.fail(row.line, row.username, "username already exists");
+            } else {
+                rows.add(row);
+            }
+        }
+        hashPasswords(rows, result);
+        rows.removeIf(row -> row.hash == null);
+        if (rows.isEmpty()) {
+            return;
+        }
+        try {
+            insert(rows);
+            result.imported += rows.size();
+        } catch (RuntimeException e) {
+            log.warn("Batch insert of {} users failed, retrying row by row : {}", rows.size(), e.getMessage());
+            for (Row row : rows) {
+                try {
+                    insert(List.of(row));
+                    result.imported++;
+                } catch (RuntimeException rowFailure) {
+                    result.fail(row.line, row.username, isDuplicate(rowFailure) ? "username already exists" : "could not be stored");
+                }
+            }
+        } finally {
+            sessionFactory.getCache().evictDefaultQueryRegion();
+        }
+    }
+
+    /**
+     * Keeps at most {@link #hashWindow} encodes in flight; when the pool's queue is full, waits
+     * for this import's oldest hash instead of failing the row.
+     */
+    private void hashPasswords(List<Row> rows, Import result) {
+        ArrayDeque<Pending> inFlight = new ArrayDeque<>(hashWindow);
+        for (Row row : rows) {
+            if (row.password == null) {
+                continue;
+            }
+            while (true) {
+                if (inFlight.size() >= hashWindow) {
+                    complete(inFlight.poll(), result);
+                }
+                try {
+                    inFlight.add(new Pending(row, passwordEncoder.submitEncode(row.password)));
+                    break;
+                } catch (ServiceBusyException e) {
+                    if (inFlight.isEmpty()) {
+                        LockSupport.parkNanos(BUSY_BACKOFF_NANOS);
+                    } else {
+                        complete(inFlight.poll(), result);
+                    }
+                }
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            complete(inFlight.poll(), result);
+        }
+    }
+
+    private static void complete(Pending pending, Import result) {
+        try {
+            pending.row.hash = PasswordHashingExecutor.await(pending.hash);
+        } catch (RuntimeException e) {
+            result.fail(pending.row.line, pending.row.username, "password could not be hashed");
+        }
+    }
+
+    private void insert(List<Row> rows) {
+        List<SimpleUser> users = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            SimpleUser user = new SimpleUser();
+            user.setUsername(row.username);
+            user.setPassword(row.hash);
+            user.setEmail(row.email);
+            user.setEnabled(row.enabled);
+            user.setRoles(row.roles);
+            users.add(user);
+        }
+        sessionFactory.inStatelessTransaction(session -> {
+            session.setJdbcBatchSize(users.size());
+            session.insertMultiple(users);
+        });
+    }
+
+    private static boolean isDuplicate(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            String message = cause.getMessage();
+            if (message != null && message.toLowerCase(Locale.ROOT).contains(SimpleUser.USERNAME_CONSTRAINT)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the normalized column names, or {@code null} without a username column
+     */
+    private static List<String> csvHeader(String line) {
+        List<String> columns = new ArrayList<>();
+        for (String column : csvFields(line)) {
+            columns.add(column.trim().toLowerCase(Locale.ROOT).replace("_", ""));
+        }
+        return columns.contains("username") ? columns : null;
+    }
+
+    private static UserImportRow csvRow(List<String> columns, String line) {
+        List<String> fields = csvFields(line);
+        if (fields.size() > columns.size()) {
+            throw new IllegalArgumentException("more fields than columns");
+        }
+        UserImportRow.UserImportRowBuilder row = UserImportRow.builder();
+        for (int i = 0; i < fields.size(); i++) {
+            String value = fields.get(i).isEmpty() ? null : fields.get(i);
+            switch (columns.get(i)) {
+                case "username" -> row.username(value);
+                case "password" -> row.password(value);
+                case "passwordhash" -> row.passwordHash(value);
+                case "email" -> row.email(value);
+                case "enabled" -> row.enabled(value == null ? null : Boolean.parseBoolean(value.trim()));
+                case "roles" -> row.roles(value == null ? null : List.of(ROLE_SEPARATOR.split(value.trim())));
+                default -> { }
+            }
+        }
+        return row.build();
+    }
+
+    /**
+     * Splits one RFC 4180 line; quoted fields may hold commas and doubled quotes, not newlines.
+     */
+    static List<String> csvFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static final class Row {
+        private final long line;
+        private final String username;
+        private final String password;
+        private final String email;
+        private final boolean enabled;
+        private final int roles;
+        private String hash;
+
+        private Row(long line, String username, String password, String hash, String email, boolean enabled, int roles) {
+            this.line = line;
+            this.username = username;
+            this.password = password;
+            this.hash = hash;
+            this.email = email;
+            this.enabled = enabled;
+            this.roles = roles;
+        }
+    }
+
+    private record Pending(Row row, Future<String> hash) {
+    }
+
+    private static final class Import {
+        private final int maxReportedFailures;
+        private final List<UserImportFailure> failures = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long failed;
+
+        private Import(int maxReportedFailures) {
+            this.maxReportedFailures = maxReportedFailures;
+        }
+
+        private void fail(long line, String username, String reason) {
+            failed++;
+            if (failures.size() < maxReportedFailures) {
+                failures.add(new UserImportFailure(line, username, reason));
+            }
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.karan.simplejwt1.config;
+
+import com.karan.simplejwt1.auth.authority.Permission;
+import org.springframework.http.HttpMethod;
+
+/**
+ * The authorization rules of the service, in match order. Both {@link ServletSecurityConfig}
+ * and {@link ReactiveSecurityConfig} are built from this list, so the two chains cannot drift
+ * apart; any path not listed only needs an authenticated caller.
+ */
+public enum AccessRule {
+
+    INTROSPECT(HttpMethod.POST, Permission.TOKENS_INTROSPECT, "/auth/introspect"),
+    PUBLIC(null, null, "/auth/**", "/.well-known/jwks.json", "/actuator/health"),
+    METRICS(null, Permission.METRICS_READ, "/actuator/**"),
+    USER_IMPORT(HttpMethod.POST, Permission.USERS_IMPORT, "/admin/users/import"),
+    USER_READ(null, Permission.USERS_READ, "/admin/**");
+
+    private final HttpMethod method;
+    private final Permission permission;
+    private final String[] patterns;
+
+    AccessRule(HttpMethod method, Permission permission, String... patterns) {
+        this.method = method;
+        this.permission = permission;
+        this.patterns = patterns;
+    }
+
+    /**
+     * @return the method the rule is limited to, {@code null} for any
+     */
+    public HttpMethod method() {
+        return method;
+    }
+
+    /**
+     * @return the permission the caller needs, {@code null} when the paths are public
+     */
+    public Permission permission() {
+        return permission;
+    }
+
+    public String[] patterns() {
+        return patterns.clone();
+    }
+
+    public boolean isPublic() {
+        return permission == null;
+    }
+}
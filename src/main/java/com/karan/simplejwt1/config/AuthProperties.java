@@ -0,0 +1,118 @@
+package com.karan.simplejwt1.config;
+
+import com.karan.simplejwt1.auth.password.HashAlgorithm;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Authentication settings bound from the {@code auth.*} properties.
+ *
+ * @param userCache     read-through cache in front of the user lookup
+ * @param hashing       pool that runs password hashing off the request threads
+ * @param refresh       opaque refresh tokens
+ * @param loginLimit    rate limits and lockout in front of the password check
+ * @param bulkImport    bulk user import through {@code /admin/users/import}
+ * @param introspection batch token checks through {@code /auth/introspect}
+ */
+@ConfigurationProperties("auth")
+public record AuthProperties(
+        @DefaultValue UserCache userCache,
+        @DefaultValue Hashing hashing,
+        @DefaultValue Refresh refresh,
+        @DefaultValue LoginLimit loginLimit,
+        @DefaultValue BulkImport bulkImport,
+        @DefaultValue Introspection introspection
+) {
+
+    /**
+     * @param enabled whether user lookups are cached
+     * @param ttl     how long a loaded user is reused before it is read again
+     * @param maxSize maximum number of cached users
+     */
+    public record UserCache(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("5m") Duration ttl,
+            @DefaultValue("10000") long maxSize
+    ) {
+    }
+
+    /**
+     * @param poolSize      hashing threads, {@code 0} for one per available core
+     * @param queueCapacity hashes allowed to wait for a thread, {@code 0} for four per thread
+     * @param algorithm     algorithm used for new hashes
+     * @param cost          cost of new hashes, {@code 0} to calibrate it at startup
+     * @param targetLatency time one hash should take when the cost is calibrated
+     */
+    public record Hashing(
+            @DefaultValue("0") int poolSize,
+            @DefaultValue("0") int queueCapacity,
+            @DefaultValue("bcrypt") HashAlgorithm algorithm,
+            @DefaultValue("0") int cost,
+            @DefaultValue("250ms") Duration targetLatency
+    ) {
+    }
+
+    /**
+     * @param ttl            lifetime of a refresh token
+     * @param purgeInterval  delay between two purges of expired tokens
+     * @param purgeBatchSize rows deleted per purge transaction
+     */
+    public record Refresh(
+            @DefaultValue("14d") Duration ttl,
+            @DefaultValue("1h") Duration purgeInterval,
+            @DefaultValue("1000") int purgeBatchSize
+    ) {
+    }
+
+    /**
+     * Both limits are token buckets: {@code burst} attempts at once, then one more every
+     * {@code refill}.
+     *
+     * @param enabled          whether login attempts are limited at all
+     * @param userBurst        attempts a username may make back to back
+     * @param userRefill       time for a username to regain one attempt
+     * @param ipBurst          attempts a client address may make back to back
+     * @param ipRefill         time for a client address to regain one attempt
+     * @param lockoutThreshold consecutive failed passwords before a username is locked
+     * @param lockout          first lockout, doubled for every further failure
+     * @param maxLockout       upper bound of the doubled lockout
+     * @param idleTimeout      keys untouched this long are forgotten; keep it above {@code maxLockout}
+     * @param maxKeys          usernames, and separately addresses, tracked at most
+     */
+    public record LoginLimit(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("5") int userBurst,
+            @DefaultValue("12s") Duration userRefill,
+            @DefaultValue("20") int ipBurst,
+            @DefaultValue("1s") Duration ipRefill,
+            @DefaultValue("5") int lockoutThreshold,
+            @DefaultValue("30s") Duration lockout,
+            @DefaultValue("15m") Duration maxLockout,
+            @DefaultValue("30m") Duration idleTimeout,
+            @DefaultValue("100000") long maxKeys
+    ) {
+    }
+
+    /**
+     * @param batchSize           rows hashed, checked and inserted together, also the JDBC batch size
+     * @param hashParallelism     passwords an import hashes at once on the hashing pool,
+     *                            {@code 0} for half of the pool so logins keep the rest
+     * @param maxReportedFailures failed rows listed in the report; all of them are counted
+     */
+    public record BulkImport(
+            @DefaultValue("500") int batchSize,
+            @DefaultValue("0") int hashParallelism,
+            @DefaultValue("1000") int maxReportedFailures
+    ) {
+    }
+
+    /**
+     * @param maxBatchSize tokens one request may ask about; larger batches are refused with 400
+     */
+    public record Introspection(
+            @DefaultValue("100") int maxBatchSize
+    ) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.karan.simplejwt1.config;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Token settings bound from the {@code jwt.*} properties.
+ *
+ * @param secret     base64 encoded HMAC key, at least 256 bits once decoded
+ * @param issuer     value written to the {@code iss} claim
+ * @param expiration lifetime of an access token, kept short since refresh tokens renew it
+ * @param cache      verified-token cache used by the filter
+ * @param stateless  building the principal from token claims instead of the database
+ * @param signing    algorithm and key ring used to sign tokens
+ * @param revocation deny-list of tokens revoked before they expire
+ * @param claims     claims added by claim providers, and the size budgets they must fit in
+ */
+@ConfigurationProperties("jwt")
+public record JwtProperties(
+        String secret,
+        @DefaultValue("Authentication_Service") String issuer,
+        @DefaultValue("15m") Duration expiration,
+        @DefaultValue Cache cache,
+        @DefaultValue Stateless stateless,
+        @DefaultValue Signing signing,
+        @DefaultValue Revocation revocation,
+        @DefaultValue Claims claims
+) {
+
+    /**
+     * @param enabled whether verified tokens are cached at all
+     * @param maxSize maximum number of tokens kept, least recently used are evicted first
+     */
+    public record Cache(
+            @DefaultValue("true") boolean enabled,
+            @DefaultValue("10000") long maxSize
+    ) {
+    }
+
+    /**
+     * @param enabled       whether the filter trusts the identity claims of the token
+     * @param maxClaimsAge  claims issued longer ago than this are re-checked against the database
+     */
+    public record Stateless(
+            @DefaultValue("false") boolean enabled,
+            @DefaultValue("15m") Duration maxClaimsAge
+    ) {
+    }
+
+    /**
+     * With an HMAC algorithm tokens are signed with {@code jwt.secret}. With an asymmetric
+     * algorithm the key whose id is {@code activeKeyId} signs new tokens, and every other
+     * configured key is kept for verification only while it is being retired. Keys are
+     * generated in memory when none are configured, which is only suitable for a single node.
+     *
+     * @param algorithm   algorithm of new tokens, e.g. {@code HS256}, {@code RS256}, {@code ES256}
+     * @param activeKeyId id of the key that signs new tokens, defaults to the first key
+     * @param keys        asymmetric key ring
+     */
+    public record Signing(
+            @DefaultValue("HS256") SignatureAlgorithm algorithm,
+            String activeKeyId,
+            @DefaultValue List<Key> keys
+    ) {
+
+        public static Signing hmac() {
+            return new Signing(SignatureAlgorithm.HS256, null, List.of());
+        }
+    }
+
+    /**
+     * @param expectedRevocations tokens revoked at the same time the in-memory filter is sized for
+     * @param falsePositiveRate   share of valid tokens that fall through the filter to the set lookup
+     * @param syncInterval        delay between two prunes and reloads of the deny-list
+     */
+    public record Revocation(
+            @DefaultValue("100000") long expectedRevocations,
+            @DefaultValue("0.001") double falsePositiveRate,
+            @DefaultValue("1m") Duration syncInterval
+    ) {
+
+        public static Revocation defaults() {
+            return new Revocation(100_000, 0.001, Duration.ofMinutes(1));
+        }
+    }
+
+    /**
+     * @param providerTimeout  time the claim providers get, together, when a token is issued;
+     *                         claims that arrive later are left out of that token
+     * @param maxProviderBytes JSON size of the claims one provider may add; larger ones are dropped
+     * @param maxTokenBytes    length of a compact token above which issuing it fails
+     * @param cacheMaxSize     users whose claims each caching provider keeps
+     * @param email            whether the built-in provider adds the user's {@code email}
+     */
+    public record Claims(
+            @DefaultValue("200ms") Duration providerTimeout,
+            @DefaultValue("1024") int maxProviderBytes,
+            @DefaultValue("4096") int maxTokenBytes,
+            @DefaultValue("10000") long cacheMaxSize,
+            @DefaultValue("false") boolean email
+    ) {
+
+        public static Claims defaults() {
+            return new Claims(Duration.ofMillis(200), 1024, 4096, 10_000, false);
+        }
+    }
+
+    /**
+     * @param id         {@code kid} header value of tokens signed with this key
+     * @param privateKey base64 PKCS#8 DER or PEM, absent for verify-only keys
+     * @param publicKey  base64 X.509 DER or PEM
+     */
+    public record Key(
+            String id,
+            String privateKey,
+            String publicKey
+    ) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.karan.simplejwt1.config;
+
+import com.karan.simplejwt1.auth.filter.TokenAuthenticator;
+import com.karan.simplejwt1.auth.metrics.AuthMetrics;
+import com.karan.simplejwt1.auth.reactive.BearerTokenServerAuthenticationConverter;
+import com.karan.simplejwt1.auth.reactive.CachedReactiveUserDetailsService;
+import com.karan.simplejwt1.auth.reactive.JwtReactiveAuthenticationManager;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.exception.Problem;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * The JWT pipeline for a reactive web application: same token checks and {@link AccessRule}s as
+ * {@link ServletSecurityConfig}, with no blocking call on the event loop.
+ * <p>The controllers of this service are Spring MVC and need the servlet stack, so this chain
+ * does not serve them; it is for reactive applications that embed the token pipeline and
+ * expose their own WebFlux endpoints.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveSecurityConfig {
+
+    @Bean
+    public CachedReactiveUserDetailsService reactiveUserDetailsService(UserRepo repo, AuthProperties properties) {
+        return new CachedReactiveUserDetailsService(repo::findAuthenticatedUserByUsername, Schedulers.boundedElastic(), properties.userCache());
+    }
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(
+            ServerHttpSecurity http,
+            TokenAuthenticator authenticator,
+            ReactiveUserDetailsService userDetailsService,
+            AuthMetrics metrics
+    ) {
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(ReactiveSecurityConfig::authorize)
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED))
+                )
+                .addFilterAt(jwtAuthenticationFilter(authenticator, userDetailsService, metrics), SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    static void authorize(ServerHttpSecurity.AuthorizeExchangeSpec exchange) {
+        for (AccessRule rule : AccessRule.values()) {
+            var paths = rule.method() == null
+                    ? exchange.pathMatchers(rule.patterns())
+                    : exchange.pathMatchers(rule.method(), rule.patterns());
+            if (rule.isPublic()) {
+                paths.permitAll();
+            } else {
+                paths.hasAuthority(rule.permission().getAuthority());
+            }
+        }
+        exchange.anyExchange().authenticated();
+    }
+
+    private static AuthenticationWebFilter jwtAuthenticationFilter(
+            TokenAuthenticator authenticator,
+            ReactiveUserDetailsService userDetailsService,
+            AuthMetrics metrics
+    ) {
+        AuthenticationWebFilter filter = new AuthenticationWebFilter(
+                new JwtReactiveAuthenticationManager(authenticator, userDetailsService, metrics));
+        filter.setServerAuthenticationConverter(new BearerTokenServerAuthenticationConverter());
+        filter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+        filter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(
+                (exchange, e) -> Problem.INVALID_TOKEN.writeTo(exchange.getResponse())));
+        return filter;
+    }
+}
@@ -1,49 +1,50 @@
 package com.karan.simplejwt1.config;
 
-import com.karan.simplejwt1.auth.filter.JwtFilter;
-import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.metrics.AuthMetrics;
+import com.karan.simplejwt1.auth.password.OffloadingPasswordEncoder;
+import com.karan.simplejwt1.auth.password.PasswordEncoders;
+import com.karan.simplejwt1.auth.password.PasswordHashingExecutor;
 import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.service.CachedUserDetailsService;
 import com.karan.simplejwt1.exception.NotFoundException;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.config.annotation.web.builders.HttpSecurity;
-import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
-import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
-import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.config.annotation.authentication.configuration.EnableGlobalAuthentication;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.web.SecurityFilterChain;
-import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
-
 
+/**
+ * Beans shared by the servlet and the reactive stack: user lookup, password hashing and the
+ * {@link AuthenticationManager} behind login. The request filter chains live in
+ * {@link ServletSecurityConfig} and {@link ReactiveSecurityConfig}.
+ */
 @Configuration
-@EnableWebSecurity
+@EnableGlobalAuthentication
 @AllArgsConstructor
 public class SecurityConfig {
 
     private final UserRepo repo;
 
     @Bean
-    public UserDetailsService userDetailsService(){
-        return username -> repo.findByUsername(username)
+    public UserDetailsService userDetailsService(AuthProperties properties, AuthMetrics metrics){
+        UserDetailsService lookup = username -> metrics.userLookup().record(() -> repo.findAuthenticatedUserByUsername(username))
                 .orElseThrow(() -> new NotFoundException("Username not found"));
+        if (!properties.userCache().enabled()) {
+            return lookup;
+        }
+        return new CachedUserDetailsService(lookup, properties.userCache());
     }
 
     @Bean
-    public PasswordEncoder getPasswordEncoder(){
-        return new BCryptPasswordEncoder(12);
+    public PasswordHashingExecutor passwordHashingExecutor(AuthProperties properties){
+        return new PasswordHashingExecutor(properties.hashing());
     }
 
     @Bean
-    JwtFilter jwtFilter(
-            JwtService utils,
-            UserDetailsService service
-    ) {
-        return new JwtFilter(utils,service);
+    public OffloadingPasswordEncoder getPasswordEncoder(PasswordHashingExecutor executor, AuthProperties properties, AuthMetrics metrics){
+        return new OffloadingPasswordEncoder(PasswordEncoders.create(properties.hashing()), executor, metrics);
     }
 
     @Bean
@@ -51,26 +52,4 @@ public class SecurityConfig {
         return configuration.getAuthenticationManager();
     }
 
-    @Bean
-    public SecurityFilterChain securityFilterChain(
-            HttpSecurity httpSecurity,
-            JwtFilter filter
-    ){
-        httpSecurity
-                .csrf(AbstractHttpConfigurer::disable)
-                .cors(AbstractHttpConfigurer::disable)
-                .authorizeHttpRequests( authManager -> authManager
-                        .requestMatchers("/auth/**").permitAll()
-                        .anyRequest().authenticated()
-                )
-//                .userDetailsService()
-                .addFilterBefore(filter, UsernamePasswordAuthenticationFilter.class)
-                .sessionManagement(session->session
-                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
-                )
-        ;
-
-        return httpSecurity.build();
-    }
-
 }
@@ -0,0 +1,57 @@
+package com.karan.simplejwt1.config;
+
+import com.karan.simplejwt1.auth.authority.PermissionAuthorizationManager;
+import com.karan.simplejwt1.auth.filter.JwtFilter;
+import com.karan.simplejwt1.auth.filter.TokenAuthenticator;
+import com.karan.simplejwt1.auth.metrics.AuthMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+@Configuration
+@EnableWebSecurity
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ServletSecurityConfig {
+
+    @Bean
+    JwtFilter jwtFilter(TokenAuthenticator authenticator, UserDetailsService service, AuthMetrics metrics) {
+        return new JwtFilter(authenticator, service, metrics);
+    }
+
+    @Bean
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity httpSecurity,
+            JwtFilter filter
+    ){
+        httpSecurity
+                .csrf(AbstractHttpConfigurer::disable)
+                .cors(AbstractHttpConfigurer::disable)
+                .authorizeHttpRequests( authManager -> {
+                    for (AccessRule rule : AccessRule.values()) {
+                        var paths = rule.method() == null
+                                ? authManager.requestMatchers(rule.patterns())
+                                : authManager.requestMatchers(rule.method(), rule.patterns());
+                        if (rule.isPublic()) {
+                            paths.permitAll();
+                        } else {
+                            paths.access(PermissionAuthorizationManager.require(rule.permission()));
+                        }
+                    }
+                    authManager.anyRequest().authenticated();
+                })
+                .addFilterBefore(filter, UsernamePasswordAuthenticationFilter.class)
+                .sessionManagement(session->session
+                        .sessionCreationPolicy(SessionCreationPolicy.STATELESS)
+                )
+        ;
+
+        return httpSecurity.build();
+    }
+}
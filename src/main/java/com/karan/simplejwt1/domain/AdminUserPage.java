@@ -0,0 +1,16 @@
+package com.karan.simplejwt1.domain;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * @param users     at most {@code limit} users, in id order
+ * @param nextAfter the {@code after} value for the next page, {@code null} on the last one
+ */
+@Builder
+public record AdminUserPage(
+        List<AdminUserResponse> users,
+        Long nextAfter
+) {
+}
@@ -0,0 +1,25 @@
+package com.karan.simplejwt1.domain;
+
+import com.karan.simplejwt1.auth.authority.Role;
+import com.karan.simplejwt1.auth.authority.RoleSet;
+import com.karan.simplejwt1.auth.repo.UserSummary;
+import lombok.Builder;
+
+import java.time.Instant;
+import java.util.List;
+
+@Builder
+public record AdminUserResponse(
+        Long id,
+        String username,
+        String email,
+        boolean enabled,
+        List<Role> roles,
+        Instant lastUpdatedAt
+) {
+
+    public static AdminUserResponse of(UserSummary user) {
+        return new AdminUserResponse(user.getId(), user.getUsername(), user.getEmail(), user.isEnabled(),
+                RoleSet.roles(user.getRoles()), user.getUpdatedAt());
+    }
+}
@@ -0,0 +1,11 @@
+package com.karan.simplejwt1.domain;
+
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record IntrospectRequest(
+        List<String> tokens
+) {
+}
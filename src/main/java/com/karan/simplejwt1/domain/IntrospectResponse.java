@@ -0,0 +1,14 @@
+package com.karan.simplejwt1.domain;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * @param tokens one result per requested token, in the order of the request
+ */
+@Builder
+public record IntrospectResponse(
+        List<TokenIntrospection> tokens
+) {
+}
@@ -0,0 +1,9 @@
+package com.karan.simplejwt1.domain;
+
+import lombok.Builder;
+
+@Builder
+public record RefreshRequest(
+        String refreshToken
+) {
+}
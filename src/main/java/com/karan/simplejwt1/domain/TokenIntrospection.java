@@ -0,0 +1,55 @@
+package com.karan.simplejwt1.domain;
+
+import com.karan.simplejwt1.auth.authority.Role;
+import com.karan.simplejwt1.auth.authority.RoleSet;
+import com.karan.simplejwt1.auth.jwt.JwtClaims;
+import com.karan.simplejwt1.auth.jwt.VerifiedToken;
+import lombok.Builder;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * What the service knows about one token. Claims are only filled in when the signature
+ * checked out, that is for {@link Status#ACTIVE}, {@link Status#INACTIVE} and
+ * {@link Status#EXPIRED} tokens.
+ *
+ * @param active whether a request carrying the token would be authenticated
+ */
+@Builder
+public record TokenIntrospection(
+        Status status,
+        boolean active,
+        String subject,
+        Long userId,
+        List<Role> roles,
+        String tokenId,
+        String issuer,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    public enum Status {
+        ACTIVE,
+        EXPIRED,
+        /** Correctly signed and unexpired, but revoked or issued before a logout everywhere. */
+        REVOKED,
+        /** Valid in itself, but its user is disabled or no longer exists. */
+        INACTIVE,
+        /** Malformed, badly signed, or signed by an unknown key. */
+        INVALID
+    }
+
+    public static TokenIntrospection of(Status status, VerifiedToken token) {
+        Number userId = token.claim(JwtClaims.USER_ID, Number.class);
+        Integer roles = token.roles();
+        return new TokenIntrospection(status, status == Status.ACTIVE, token.subject(),
+                userId == null ? null : userId.longValue(),
+                roles == null ? null : RoleSet.roles(roles),
+                token.id(), token.issuer(), token.issuedAt(), token.expiresAt());
+    }
+
+    public static TokenIntrospection of(Status status) {
+        return new TokenIntrospection(status, false, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,16 @@
+package com.karan.simplejwt1.domain;
+
+import lombok.Builder;
+
+/**
+ * @param line     line of the input, counting from 1 and including a CSV header
+ * @param username username of the row, if it could be read
+ * @param reason   why the row was not imported
+ */
+@Builder
+public record UserImportFailure(
+        long line,
+        String username,
+        String reason
+) {
+}
@@ -0,0 +1,20 @@
+package com.karan.simplejwt1.domain;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * @param rows     data rows read, blank lines excluded
+ * @param imported users inserted
+ * @param failed   rows not imported
+ * @param failures the first {@code auth.bulk-import.max-reported-failures} failed rows
+ */
+@Builder
+public record UserImportReport(
+        long rows,
+        long imported,
+        long failed,
+        List<UserImportFailure> failures
+) {
+}
@@ -0,0 +1,22 @@
+package com.karan.simplejwt1.domain;
+
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * One user of a bulk import. Exactly one of {@code password} and {@code passwordHash} is set;
+ * a hash is stored as is and must be in the {@code {id}hash} form, or a bare BCrypt hash.
+ * {@code roles} are {@link com.karan.simplejwt1.auth.authority.Role} names, {@code USER} when
+ * absent.
+ */
+@Builder
+public record UserImportRow(
+        String username,
+        String password,
+        String passwordHash,
+        String email,
+        Boolean enabled,
+        List<String> roles
+) {
+}
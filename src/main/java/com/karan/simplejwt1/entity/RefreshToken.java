@@ -0,0 +1,44 @@
+package com.karan.simplejwt1.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * One opaque refresh token. Only the SHA-256 of the token is stored.
+ * <p>Every rotation issues a new row in the same {@code familyId}; presenting a row that was
+ * already used marks the whole family revoked.
+ */
+@Data
+@Entity
+@Table(
+        name = "refresh_token",
+        indexes = {
+                @Index(name = "uk_refresh_token_hash", columnList = "tokenHash", unique = true),
+                @Index(name = "ix_refresh_token_family", columnList = "familyId"),
+                @Index(name = "ix_refresh_token_expires_at", columnList = "expiresAt")
+        }
+)
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @Column(nullable = false, length = 43)
+    private String tokenHash;
+
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    @Column(nullable = false)
+    private String username;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+
+    private Instant usedAt;
+
+    private boolean revoked;
+}
@@ -0,0 +1,32 @@
+package com.karan.simplejwt1.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * A token rejected before its expiry, identified by its {@code jti} claim.
+ * <p>The row is only needed until {@code expiresAt}; after that the token is refused anyway.
+ */
+@Data
+@Entity
+@Table(
+        name = "revoked_token",
+        indexes = {
+                @Index(name = "uk_revoked_token_jti", columnList = "jti", unique = true),
+                @Index(name = "ix_revoked_token_expires_at", columnList = "expiresAt")
+        }
+)
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.AUTO)
+    private Long id;
+
+    @Column(nullable = false, length = 36)
+    private String jti;
+
+    @Column(nullable = false)
+    private Instant expiresAt;
+}
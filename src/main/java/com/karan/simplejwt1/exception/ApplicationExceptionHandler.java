@@ -1,26 +1,58 @@
 package com.karan.simplejwt1.exception;
 
-import org.springframework.http.HttpStatus;
+import com.karan.simplejwt1.auth.jwt.TokenTooLargeException;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+/**
+ * Maps the service's exceptions to the pre-encoded {@link Problem} bodies; the exception
+ * message stays in the log and is never sent to the client.
+ * <p>Spring MVC's own exceptions (unreadable body, unknown path, ...) keep their status and
+ * get a problem+json body from {@link ResponseEntityExceptionHandler}.
+ */
 @RestControllerAdvice
-public class ApplicationExceptionHandler {
+@Slf4j
+public class ApplicationExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(BadRequestException.class)
+    public ResponseEntity<byte[]> handleBadRequestException(BadRequestException e){
+        log.debug("Bad request : {}", e.getMessage());
+        return Problem.BAD_REQUEST.toResponseEntity();
+    }
 
     @ExceptionHandler(NotFoundException.class)
-    public ResponseEntity<String> handleNotFoundException(NotFoundException e){
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    public ResponseEntity<byte[]> handleNotFoundException(NotFoundException e){
+        return Problem.NOT_FOUND.toResponseEntity();
     }
 
     @ExceptionHandler(InvalidCredentialsException.class)
-    public ResponseEntity<String> handleInvalidCredentialsException(InvalidCredentialsException e){
-        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(e.getMessage());
+    public ResponseEntity<byte[]> handleInvalidCredentialsException(InvalidCredentialsException e){
+        return Problem.INVALID_CREDENTIALS.toResponseEntity();
+    }
+
+    @ExceptionHandler(ServiceBusyException.class)
+    public ResponseEntity<byte[]> handleServiceBusyException(ServiceBusyException e){
+        return Problem.SERVICE_BUSY.toResponseEntity();
+    }
+
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<byte[]> handleTooManyRequestsException(TooManyRequestsException e){
+        return Problem.TOO_MANY_REQUESTS.toResponseEntity(String.valueOf(e.getRetryAfter().toSeconds()));
+    }
+
+    @ExceptionHandler(TokenTooLargeException.class)
+    public ResponseEntity<byte[]> handleTokenTooLargeException(TokenTooLargeException e){
+        log.error("Token not issued : {}", e.getMessage());
+        return Problem.TOKEN_TOO_LARGE.toResponseEntity();
     }
 
     @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<String> handleRuntimeException(InvalidCredentialsException e){
-        return ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).body(e.getMessage());
+    public ResponseEntity<byte[]> handleRuntimeException(RuntimeException e){
+        log.error("Request failed : {}", e.getMessage());
+        return Problem.INTERNAL_ERROR.toResponseEntity();
     }
 
 }
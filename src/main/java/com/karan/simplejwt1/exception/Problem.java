@@ -0,0 +1,107 @@
+package com.karan.simplejwt1.exception;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The error responses of the service, as RFC 7807 {@code application/problem+json}.
+ * <p>Each body is serialized once, when the class loads, and written as is: rejecting a
+ * request costs a status, two headers and one write of a shared byte array. Details are
+ * deliberately constant, so nothing about the caller or the failure leaks into the body;
+ * the {@code code} member tells clients the cases apart.
+ */
+public enum Problem {
+
+    INVALID_TOKEN(HttpStatus.UNAUTHORIZED, "invalid_token", "Invalid or expired token"),
+    INVALID_CREDENTIALS(HttpStatus.UNAUTHORIZED, "invalid_credentials", "Invalid credentials"),
+    BAD_REQUEST(HttpStatus.BAD_REQUEST, "bad_request", "The request is malformed or too large"),
+    NOT_FOUND(HttpStatus.NOT_FOUND, "not_found", "Resource not found"),
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS, "too_many_requests", "Too many attempts, retry later"),
+    SERVICE_BUSY(HttpStatus.SERVICE_UNAVAILABLE, "service_busy", "Server is busy, retry shortly"),
+    TOKEN_TOO_LARGE(HttpStatus.INTERNAL_SERVER_ERROR, "token_too_large", "The token would exceed its size limit"),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "internal_error", "The request could not be completed");
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final HttpStatus status;
+    private final String code;
+    private final byte[] body;
+
+    Problem(HttpStatus status, String code, String detail) {
+        this.status = status;
+        this.code = code;
+        Map<String, Object> problem = new LinkedHashMap<>();
+        problem.put("type", "about:blank");
+        problem.put("title", status.getReasonPhrase());
+        problem.put("status", status.value());
+        problem.put("detail", detail);
+        problem.put("code", code);
+        this.body = JsonMapper.shared().writeValueAsBytes(problem);
+    }
+
+    public HttpStatus status() {
+        return status;
+    }
+
+    public String code() {
+        return code;
+    }
+
+    /**
+     * Writes the problem straight to the output stream, bypassing the writer and its encoder.
+     */
+    public void writeTo(HttpServletResponse response) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        response.setContentLength(body.length);
+        if (this == SERVICE_BUSY) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        }
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * Reactive counterpart of {@link #writeTo(HttpServletResponse)}; the shared array is
+     * wrapped, not copied.
+     */
+    public Mono<Void> writeTo(ServerHttpResponse response) {
+        response.setStatusCode(status);
+        HttpHeaders headers = response.getHeaders();
+        headers.setContentType(MediaType.APPLICATION_PROBLEM_JSON);
+        headers.setContentLength(body.length);
+        if (this == SERVICE_BUSY) {
+            headers.set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+        }
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    /**
+     * For controller advice; the body goes out through the byte array converter as is.
+     */
+    public ResponseEntity<byte[]> toResponseEntity() {
+        return toResponseEntity(this == SERVICE_BUSY ? RETRY_AFTER_SECONDS : null);
+    }
+
+    /**
+     * @param retryAfter value of the {@code Retry-After} header, {@code null} for none
+     */
+    public ResponseEntity<byte[]> toResponseEntity(String retryAfter) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .contentLength(body.length);
+        if (retryAfter != null) {
+            builder.header(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return builder.body(body);
+    }
+}
@@ -0,0 +1,7 @@
+package com.karan.simplejwt1.exception;
+
+public class ServiceBusyException extends RuntimeException {
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.karan.simplejwt1.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Thrown on every throttled login, so it skips the stack trace.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public TooManyRequestsException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+}
@@ -1,12 +1,17 @@
 package com.karan.simplejwt1.auth;
 
+import com.karan.simplejwt1.auth.ratelimit.LoginAttemptGuard;
 import com.karan.simplejwt1.auth.service.AuthService;
+import com.karan.simplejwt1.auth.service.TokenIntrospectionService;
 import com.karan.simplejwt1.domain.AuthRequest;
 import com.karan.simplejwt1.domain.AuthResponse;
+import com.karan.simplejwt1.domain.RefreshRequest;
 import com.karan.simplejwt1.domain.RegisterRequest;
 import com.karan.simplejwt1.domain.UserDataResponse;
 import com.karan.simplejwt1.exception.InvalidCredentialsException;
 import com.karan.simplejwt1.exception.NotFoundException;
+import com.karan.simplejwt1.exception.ServiceBusyException;
+import com.karan.simplejwt1.exception.TooManyRequestsException;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,9 +21,15 @@ import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import tools.jackson.databind.ObjectMapper;
 
+import java.time.Duration;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -31,6 +42,12 @@ public class AuthControllerTest {
     @MockitoBean
     private AuthService authService;
 
+    @MockitoBean
+    private LoginAttemptGuard loginAttemptGuard;
+
+    @MockitoBean
+    private TokenIntrospectionService tokenIntrospectionService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -79,6 +96,22 @@ public class AuthControllerTest {
         verify(authService, times(1)).logIn(any(AuthRequest.class));
     }
 
+    @Test
+    public void throttledLoginIsRejectedBeforeThePasswordCheck() throws Exception{
+        var request = AuthRequest.builder().username("user123").password("password").build();
+
+        doThrow(new TooManyRequestsException("Too many login attempts", Duration.ofSeconds(12)))
+                .when(loginAttemptGuard).acquire(eq("user123"), any());
+
+        this.mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "12"))
+                .andExpect(jsonPath("$.code").value("too_many_requests"));
+        verify(authService, never()).logIn(any(AuthRequest.class));
+    }
+
     @Test
     public void invalidCredentials() throws Exception{
         var request = AuthRequest.builder().username("user123").password("password").build();
@@ -90,8 +123,28 @@ public class AuthControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isUnauthorized())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.status").value(401))
+                .andExpect(jsonPath("$.code").value("invalid_credentials"))
+                .andExpect(content().string(not(containsString("user123"))))
                 .andDo(print());
         verify(authService, times(1)).logIn(any(AuthRequest.class));
+        verify(loginAttemptGuard).onFailure("user123");
+    }
+
+    @Test
+    public void loginRejectedWhenHashingPoolIsFull() throws Exception{
+        var request = AuthRequest.builder().username("user123").password("password").build();
+
+        when(authService.logIn(any(AuthRequest.class)))
+                .thenThrow(new ServiceBusyException("Too many concurrent credential checks, retry later"));
+
+        this.mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andDo(print());
     }
 
     @Test
@@ -127,4 +180,32 @@ public class AuthControllerTest {
         );
     }
 
+
+    @Test
+    public void refreshShouldReturnRotatedTokens() throws Exception{
+        var response = AuthResponse.builder()
+                .token("jwt-token").refreshToken("new-refresh")
+                .userData(UserDataResponse.builder().username("user123").build())
+                .build();
+
+        when(authService.refresh(any(RefreshRequest.class))).thenReturn(response);
+
+        this.mockMvc.perform(post("/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest("old-refresh"))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.token").value("jwt-token"))
+                .andExpect(jsonPath("$.refreshToken").value("new-refresh"));
+
+        verify(authService).refresh(argThat(req -> req.refreshToken().equals("old-refresh")));
+    }
+
+    @Test
+    public void refreshWithReusedTokenIsUnauthorized() throws Exception{
+        when(authService.refresh(any(RefreshRequest.class)))
+                .thenThrow(new InvalidCredentialsException("Refresh token reuse detected"));
+
+        this.mockMvc.perform(post("/auth/refresh").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new RefreshRequest("old-refresh"))))
+                .andExpect(status().isUnauthorized());
+    }
 }
@@ -1,17 +1,30 @@
 package com.karan.simplejwt1.auth;
 
 import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.jwt.TokenTooLargeException;
+import com.karan.simplejwt1.auth.claims.ClaimsEnricher;
+import com.karan.simplejwt1.auth.jwt.ClaimsPrincipal;
+import com.karan.simplejwt1.auth.metrics.AuthMetrics;
+import com.karan.simplejwt1.auth.authority.RoleSet;
+import com.karan.simplejwt1.auth.repo.AuthenticatedUser;
 import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.repo.UserTokenView;
+import com.karan.simplejwt1.auth.revocation.TokenRevocationService;
 import com.karan.simplejwt1.auth.service.AuthService;
+import com.karan.simplejwt1.auth.service.RefreshTokenService;
 import com.karan.simplejwt1.domain.AuthRequest;
 import com.karan.simplejwt1.domain.AuthResponse;
+import com.karan.simplejwt1.domain.RefreshRequest;
 import com.karan.simplejwt1.domain.RegisterRequest;
 import com.karan.simplejwt1.entity.SimpleUser;
 import com.karan.simplejwt1.exception.InvalidCredentialsException;
+import com.karan.simplejwt1.exception.ServiceBusyException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
 import org.springframework.dao.DataIntegrityViolationException;
@@ -20,6 +33,7 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Instant;
@@ -31,6 +45,7 @@ import java.util.Optional;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 
@@ -49,6 +64,18 @@ public class AuthServiceTest {
     @Mock
     private UserRepo userRepo;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private TokenRevocationService revocationService;
+
+    @Mock
+    private ClaimsEnricher claimsEnricher;
+
+    @Spy
+    private AuthMetrics metrics = AuthMetrics.noop();
+
     @InjectMocks
     private AuthService authService;
 
@@ -60,18 +87,12 @@ public class AuthServiceTest {
         var authenticatedToken = new UsernamePasswordAuthenticationToken(
                 request.username(),null, List.of(new SimpleGrantedAuthority("USER"))
         );
-        var simpleUser = new SimpleUser();
-        simpleUser.setId(1L);
-        simpleUser.setEmail("user123@gmail.com");
-        simpleUser.setPassword("password");
-        simpleUser.setEnabled(true);
-        simpleUser.setUsername("user123");
-        simpleUser.setCreatedAt(Instant.now());
+        var authenticatedUser = new AuthenticatedUser(1L, "user123", "password", "user123@gmail.com", true, RoleSet.DEFAULT, 0L, 0, Instant.now());
 
         // when
         when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authenticatedToken);
-        when(jwtService.generateToken(anyString())).thenReturn("jwt-token");
-        when(userRepo.findByUsername(anyString())).thenReturn(Optional.of(simpleUser));
+        when(jwtService.generateToken(any(AuthenticatedUser.class), anyMap())).thenReturn("jwt-token");
+        when(userRepo.findAuthenticatedUserByUsername(anyString())).thenReturn(Optional.of(authenticatedUser));
 
         var response = authService.logIn(request);
 
@@ -83,8 +104,8 @@ public class AuthServiceTest {
         assertThat(response.userData().email()).isEqualTo("user123@gmail.com");
 
         // verify
-        verify(userRepo).findByUsername("user123");
-        verify(jwtService).generateToken("user123");
+        verify(userRepo).findAuthenticatedUserByUsername("user123");
+        verify(jwtService).generateToken(ArgumentMatchers.<UserDetails>argThat(user -> user.getUsername().equals("user123")), anyMap());
         verifyNoMoreInteractions(authenticationManager, userRepo, jwtService);
         verify(authenticationManager).authenticate(
                 argThat(auth ->
@@ -95,6 +116,46 @@ public class AuthServiceTest {
         ); // verifies semantic and existence
     }
 
+    @Test
+    public void userShouldAuthenticateWithoutSecondLookup(){
+        //given
+        var request = AuthRequest.builder().username("user123").password("User@123").build();
+        var user = new AuthenticatedUser(1L, "user123", "password", "user123@gmail.com", true, RoleSet.DEFAULT, 0L, 0, null);
+        var authenticatedToken = UsernamePasswordAuthenticationToken.authenticated(
+                user, null, user.getAuthorities()
+        );
+
+        // when
+        when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authenticatedToken);
+        when(jwtService.generateToken(any(AuthenticatedUser.class), anyMap())).thenReturn("jwt-token");
+
+        var response = authService.logIn(request);
+
+        // then
+        assertThat(response.token()).isEqualTo("jwt-token");
+        assertThat(response.userData().username()).isEqualTo("user123");
+        assertThat(response.userData().email()).isEqualTo("user123@gmail.com");
+
+        // verify
+        verify(jwtService).generateToken(eq(user), anyMap());
+        verifyNoInteractions(userRepo);
+    }
+
+    @Test
+    public void shouldPropagateTokenTooLargeOnLogin(){
+        var request = AuthRequest.builder().username("user123").password("User@123").build();
+        var user = new AuthenticatedUser(1L, "user123", "password", "user123@gmail.com", true, RoleSet.DEFAULT, 0L, 0, null);
+        var authenticatedToken = UsernamePasswordAuthenticationToken.authenticated(
+                user, null, user.getAuthorities()
+        );
+
+        when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authenticatedToken);
+        when(jwtService.generateToken(any(AuthenticatedUser.class), anyMap()))
+                .thenThrow(new TokenTooLargeException("Token of 5000 bytes"));
+
+        assertThrows(TokenTooLargeException.class, () -> authService.logIn(request));
+    }
+
     @Test
     public void userInvalidCredentials(){
         //given
@@ -137,7 +198,7 @@ public class AuthServiceTest {
 
         // when
         when(authenticationManager.authenticate(any(Authentication.class))).thenReturn(authenticatedToken);
-        when(userRepo.findByUsername(anyString())).thenThrow(new DataAccessResourceFailureException("DB Down"));
+        when(userRepo.findAuthenticatedUserByUsername(anyString())).thenThrow(new DataAccessResourceFailureException("DB Down"));
 
         Exception exception = assertThrows(RuntimeException.class , ()->authService.logIn(request));
 
@@ -168,7 +229,7 @@ public class AuthServiceTest {
 
         // when
         when(passwordEncoder.encode(request.password())).thenReturn("encoded_password");
-        when(jwtService.generateToken(request.username())).thenReturn("jwt-token");
+        when(jwtService.generateToken(any(SimpleUser.class), anyMap())).thenReturn("jwt-token");
         when(userRepo.save(any(SimpleUser.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -193,7 +254,7 @@ public class AuthServiceTest {
                 )
         );
 
-        verify(jwtService).generateToken("user123");
+        verify(jwtService).generateToken(ArgumentMatchers.<UserDetails>argThat(user -> user.getUsername().equals("user123")), anyMap());
         verifyNoMoreInteractions(passwordEncoder, userRepo, jwtService);
     }
 
@@ -259,7 +320,59 @@ public class AuthServiceTest {
         verifyNoInteractions(jwtService);
     }
 
+    @Test
+    void shouldPropagateBusyHashingPoolOnRegister() {
+        RegisterRequest request = RegisterRequest.builder()
+                .username("user123")
+                .password("User@123")
+                .email("user123@gmail.com")
+                .build();
 
+        when(passwordEncoder.encode(anyString()))
+                .thenThrow(new ServiceBusyException("Too many concurrent credential checks, retry later"));
 
+        assertThrows(ServiceBusyException.class, () -> authService.register(request));
 
+        verifyNoInteractions(userRepo, jwtService);
+    }
+
+    @Test
+    void refreshShouldRotateWithoutLoadingUser() {
+        var view = mock(UserTokenView.class);
+        Instant updatedAt = Instant.parse("2026-01-01T00:00:00Z");
+        when(view.getUsername()).thenReturn("user123");
+        when(view.getEmail()).thenReturn("user123@gmail.com");
+        when(view.getUpdatedAt()).thenReturn(updatedAt);
+        when(view.isEnabled()).thenReturn(true);
+        when(view.getVersion()).thenReturn(3L);
+        when(refreshTokenService.rotate("old-refresh"))
+                .thenReturn(new RefreshTokenService.Rotation("user123", "new-refresh"));
+        when(userRepo.findTokenViewByUsername("user123")).thenReturn(Optional.of(view));
+        when(jwtService.generateToken(any(ClaimsPrincipal.class), anyMap())).thenReturn("jwt-token");
+
+        var response = authService.refresh(new RefreshRequest("old-refresh"));
+
+        assertThat(response.token()).isEqualTo("jwt-token");
+        assertThat(response.refreshToken()).isEqualTo("new-refresh");
+        assertThat(response.userData().username()).isEqualTo("user123");
+        assertThat(response.userData().email()).isEqualTo("user123@gmail.com");
+        assertThat(response.userData().lastUpdatedAt()).isEqualTo(updatedAt);
+        verify(jwtService).generateToken(ArgumentMatchers.<UserDetails>argThat(user ->
+                user instanceof ClaimsPrincipal principal && principal.version() == 3L), anyMap());
+        verify(userRepo, never()).findByUsername(anyString());
+        verifyNoInteractions(passwordEncoder, authenticationManager);
+    }
+
+    @Test
+    void refreshShouldRejectDisabledUser() {
+        var view = mock(UserTokenView.class);
+        when(view.isEnabled()).thenReturn(false);
+        when(refreshTokenService.rotate("old-refresh"))
+                .thenReturn(new RefreshTokenService.Rotation("user123", "new-refresh"));
+        when(userRepo.findTokenViewByUsername("user123")).thenReturn(Optional.of(view));
+
+        assertThrows(InvalidCredentialsException.class, () -> authService.refresh(new RefreshRequest("old-refresh")));
+
+        verifyNoInteractions(jwtService);
+    }
 }
@@ -0,0 +1,39 @@
+package com.karan.simplejwt1.auth;
+
+import com.karan.simplejwt1.auth.revocation.BloomFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BloomFilterTest {
+
+    @Test
+    void shouldNeverMissAnInsertedValue() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.001);
+        var values = IntStream.range(0, 10_000).mapToObj(i -> UUID.randomUUID().toString()).toList();
+        values.forEach(filter::put);
+
+        assertThat(values).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void falsePositiveRateShouldStayNearTarget() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        IntStream.range(0, 10_000).forEach(i -> filter.put(UUID.randomUUID().toString()));
+
+        long falsePositives = IntStream.range(0, 100_000)
+                .filter(i -> filter.mightContain(UUID.randomUUID().toString()))
+                .count();
+
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void shouldRejectInvalidRate() {
+        assertThatThrownBy(() -> BloomFilter.create(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
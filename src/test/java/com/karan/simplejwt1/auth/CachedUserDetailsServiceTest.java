@@ -0,0 +1,96 @@
+package com.karan.simplejwt1.auth;
+
+import com.karan.simplejwt1.auth.repo.UserChangedEvent;
+import com.karan.simplejwt1.auth.service.CachedUserDetailsService;
+import com.karan.simplejwt1.config.AuthProperties;
+import com.karan.simplejwt1.entity.SimpleUser;
+import com.karan.simplejwt1.exception.NotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CachedUserDetailsServiceTest {
+
+    private static final AuthProperties.UserCache PROPERTIES = new AuthProperties.UserCache(true, Duration.ofMinutes(5), 100);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private SimpleUser user(String username) {
+        loads.incrementAndGet();
+        if ("ghost".equals(username)) {
+            throw new NotFoundException("Username not found");
+        }
+        SimpleUser user = new SimpleUser();
+        user.setUsername(username);
+        return user;
+    }
+
+    @Test
+    void shouldLoadUserOnceUntilInvalidated() {
+        var service = new CachedUserDetailsService(this::user, PROPERTIES);
+
+        UserDetails first = service.loadUserByUsername("user123");
+        UserDetails second = service.loadUserByUsername("user123");
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+
+        service.evict(new UserChangedEvent(1L, "user123", 0, false));
+        UserDetails third = service.loadUserByUsername("user123");
+
+        assertThat(third).isNotSameAs(first);
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldNotCacheMissingUser() {
+        var service = new CachedUserDetailsService(this::user, PROPERTIES);
+
+        assertThrows(NotFoundException.class, () -> service.loadUserByUsername("ghost"));
+        assertThrows(NotFoundException.class, () -> service.loadUserByUsername("ghost"));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void shouldCoalesceConcurrentMisses() throws Exception {
+        var release = new CountDownLatch(1);
+        var service = new CachedUserDetailsService(username -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return user(username);
+        }, PROPERTIES);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<UserDetails>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> service.loadUserByUsername("user123")));
+            }
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<UserDetails> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getUsername()).isEqualTo("user123");
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(loads).hasValue(1);
+    }
+}
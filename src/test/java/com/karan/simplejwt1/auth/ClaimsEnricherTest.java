@@ -0,0 +1,154 @@
+package com.karan.simplejwt1.auth;
+
+import com.karan.simplejwt1.auth.authority.RoleSet;
+import com.karan.simplejwt1.auth.claims.ClaimProvider;
+import com.karan.simplejwt1.auth.claims.ClaimsEnricher;
+import com.karan.simplejwt1.auth.jwt.ClaimsPrincipal;
+import com.karan.simplejwt1.auth.repo.UserChangedEvent;
+import com.karan.simplejwt1.config.JwtProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClaimsEnricherTest {
+
+    private static final UserDetails USER = new ClaimsPrincipal("user123", RoleSet.DEFAULT, true, 0L, 1L, 0);
+
+    @Test
+    void shouldRunProvidersConcurrentlyAndMergeInOrder() {
+        // each provider waits for the other, so they only finish if they run at the same time
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        ClaimsEnricher enricher = enricher(Duration.ofSeconds(5),
+                provider("team", Duration.ZERO, user -> {
+                    awaitOther(bothStarted);
+                    return Map.of("team", "payments", "tier", "gold");
+                }),
+                provider("tier", Duration.ZERO, user -> {
+                    awaitOther(bothStarted);
+                    return Map.of("tier", "silver", "region", "eu");
+                }));
+
+        assertThat(enricher.claims(USER))
+                .containsExactlyInAnyOrderEntriesOf(Map.of("team", "payments", "tier", "gold", "region", "eu"));
+    }
+
+    @Test
+    void shouldCacheClaimsPerUserUntilTheUserChanges() {
+        AtomicInteger calls = new AtomicInteger();
+        ClaimsEnricher enricher = enricher(Duration.ofSeconds(5),
+                provider("profile", Duration.ofMinutes(5), user -> Map.of("calls", calls.incrementAndGet())));
+
+        assertThat(enricher.claims(USER)).containsEntry("calls", 1);
+        assertThat(enricher.claims(USER)).containsEntry("calls", 1);
+
+        enricher.evict(new UserChangedEvent(1L, "user123", 0, false));
+
+        assertThat(enricher.claims(USER)).containsEntry("calls", 2);
+    }
+
+    @Test
+    void shouldNotCacheClaimsLoadedBeforeAConcurrentEviction() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch evicted = new CountDownLatch(1);
+        ClaimsEnricher enricher = enricher(Duration.ofSeconds(5),
+                provider("profile", Duration.ofMinutes(5), user -> {
+                    int call = calls.incrementAndGet();
+                    if (call == 1) {
+                        loading.countDown();
+                        awaitOther(evicted);
+                    }
+                    return Map.of("calls", call);
+                }));
+
+        Thread first = Thread.ofVirtual().start(() -> assertThat(enricher.claims(USER)).containsEntry("calls", 1));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        enricher.evict(new UserChangedEvent(1L, "user123", 0, false));
+        evicted.countDown();
+        first.join();
+
+        assertThat(enricher.claims(USER)).containsEntry("calls", 2);
+    }
+
+    @Test
+    void shouldLeaveOutSlowFailingReservedAndOversizedClaims() {
+        ClaimsEnricher enricher = enricher(Duration.ofMillis(100),
+                provider("slow", Duration.ZERO, user -> {
+                    sleep(Duration.ofSeconds(2));
+                    return Map.of("slow", true);
+                }),
+                provider("failing", Duration.ZERO, user -> {
+                    throw new IllegalStateException("profile service down");
+                }),
+                provider("greedy", Duration.ZERO, user -> Map.of("blob", "x".repeat(2048))),
+                provider("sneaky", Duration.ZERO, user -> Map.of("sub", "admin", "rl", 4, "locale", "en")));
+
+        long start = System.nanoTime();
+        Map<String, Object> claims = enricher.claims(USER);
+
+        assertThat(claims).containsExactlyEntriesOf(Map.of("locale", "en"));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void shouldReturnNoClaimsWithoutProviders() {
+        assertThat(enricher(Duration.ofMillis(100)).claims(USER)).isEmpty();
+    }
+
+    private static ClaimsEnricher enricher(Duration timeout, ClaimProvider... providers) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        for (ClaimProvider provider : providers) {
+            beanFactory.addBean(provider.name(), provider);
+        }
+        JwtProperties defaults = JwtTestProperties.defaults();
+        JwtProperties properties = new JwtProperties(defaults.secret(), defaults.issuer(), defaults.expiration(),
+                defaults.cache(), defaults.stateless(), defaults.signing(), defaults.revocation(),
+                new JwtProperties.Claims(timeout, 1024, 4096, 100, false));
+        return new ClaimsEnricher(beanFactory.getBeanProvider(ClaimProvider.class), properties);
+    }
+
+    private static ClaimProvider provider(String name, Duration ttl, Function<UserDetails, Map<String, ?>> claims) {
+        return new ClaimProvider() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Map<String, ?> claims(UserDetails user) {
+                return claims.apply(user);
+            }
+
+            @Override
+            public Duration cacheTtl() {
+                return ttl;
+            }
+        };
+    }
+
+    private static void awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        try {
+            assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
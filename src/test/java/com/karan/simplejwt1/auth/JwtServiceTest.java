@@ -1,13 +1,24 @@
 package com.karan.simplejwt1.auth;
 
 
+import com.karan.simplejwt1.auth.jwt.ClaimsPrincipal;
 import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.jwt.TokenTooLargeException;
+import com.karan.simplejwt1.auth.jwt.VerifiedToken;
+import com.karan.simplejwt1.config.JwtProperties;
+import com.karan.simplejwt1.entity.SimpleUser;
+import io.jsonwebtoken.JwtException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class JwtServiceTest {
 
@@ -15,7 +26,7 @@ public class JwtServiceTest {
 
     @BeforeEach
     public void setup(){
-        jwtService = new JwtService();
+        jwtService = new JwtService(JwtTestProperties.defaults());
     }
 
     @Test
@@ -62,10 +73,94 @@ public class JwtServiceTest {
         assertThat(valid).isFalse();
     }
 
+    @Test
+    void shouldVerifyTokenInSingleParse() {
+        String token = jwtService.generateToken("user123");
+
+        VerifiedToken verified = jwtService.verify(token);
+
+        assertThat(verified.subject()).isEqualTo("user123");
+        assertThat(verified.issuer()).isEqualTo("Authentication_Service");
+        assertThat(verified.issuedAt()).isBeforeOrEqualTo(Instant.now());
+        assertThat(verified.expiresAt()).isAfter(Instant.now());
+        assertThat(verified.claims()).containsEntry("sub", "user123");
+        assertThat(jwtService.validateToken(verified, "user123")).isTrue();
+    }
+
+    @Test
+    void shouldExposeReadOnlyClaims() {
+        VerifiedToken verified = jwtService.verify(jwtService.generateToken("user123"));
+
+        assertThrows(UnsupportedOperationException.class, () -> verified.claims().put("sub", "other"));
+    }
+
+    @Test
+    void shouldRejectTamperedToken() {
+        String token = jwtService.generateToken("user123");
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertThrows(JwtException.class, () -> jwtService.verify(tampered));
+    }
+
+    @Test
+    void shouldFailFastOnWeakSecret() {
+        var properties = JwtTestProperties.of("c2hvcnQ=", Duration.ofDays(7), true, JwtProperties.Signing.hmac());
 
+        assertThrows(IllegalStateException.class, () -> new JwtService(properties));
+    }
 
+    @Test
+    void shouldFailFastOnMissingSecret() {
+        var properties = JwtTestProperties.of(null, Duration.ofDays(7), true, JwtProperties.Signing.hmac());
 
+        assertThrows(IllegalStateException.class, () -> new JwtService(properties));
+    }
 
+    @Test
+    void shouldCarryIdentityClaimsForUser() {
+        var user = new SimpleUser();
+        user.setUsername("user123");
+        user.setEnabled(true);
+        user.setVersion(3L);
+
+        ClaimsPrincipal principal = jwtService.verify(jwtService.generateToken(user)).principal();
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.getUsername()).isEqualTo("user123");
+        assertThat(principal.isEnabled()).isTrue();
+        assertThat(principal.version()).isEqualTo(3L);
+        assertThat(principal.getAuthorities()).extracting(GrantedAuthority::getAuthority).containsExactly("USER");
+    }
 
+    @Test
+    void shouldNotBuildPrincipalWithoutIdentityClaims() {
+        assertThat(jwtService.verify(jwtService.generateToken("user123")).principal()).isNull();
+    }
 
+    @Test
+    void shouldAddExtraClaimsWithoutLettingThemOverrideOwnClaims() {
+        var user = new SimpleUser();
+        user.setUsername("user123");
+        user.setEnabled(true);
+
+        VerifiedToken verified = jwtService.verify(jwtService.generateToken(user,
+                Map.of("email", "user123@example.com", "sub", "someone-else")));
+
+        assertThat(verified.subject()).isEqualTo("user123");
+        assertThat(verified.claim("email", String.class)).isEqualTo("user123@example.com");
+    }
+
+    @Test
+    void shouldRefuseTokensOverTheSizeBudget() {
+        JwtProperties defaults = JwtTestProperties.defaults();
+        JwtService budgeted = new JwtService(new JwtProperties(defaults.secret(), defaults.issuer(), defaults.expiration(),
+                defaults.cache(), defaults.stateless(), defaults.signing(), defaults.revocation(),
+                new JwtProperties.Claims(Duration.ofMillis(200), 1024, 512, 100, false)));
+        var user = new SimpleUser();
+        user.setUsername("user123");
+        user.setEnabled(true);
+
+        assertThat(budgeted.generateToken(user, Map.of("team", "payments"))).hasSizeLessThan(512);
+        assertThrows(TokenTooLargeException.class, () -> budgeted.generateToken(user, Map.of("bio", "x".repeat(400))));
+    }
 }
@@ -0,0 +1,33 @@
+package com.karan.simplejwt1.auth;
+
+import com.karan.simplejwt1.config.JwtProperties;
+
+import java.time.Duration;
+
+/**
+ * {@link JwtProperties} with the application defaults, for tests that build {@code JwtService} by hand.
+ */
+final class JwtTestProperties {
+
+    static final String SECRET = "357638792F423F4428472B4B6250655368566D597133743677397A2443264629";
+
+    private JwtTestProperties() {
+    }
+
+    static JwtProperties defaults() {
+        return of(SECRET, Duration.ofDays(7), true, JwtProperties.Signing.hmac());
+    }
+
+    static JwtProperties of(String secret, Duration expiration, boolean cacheEnabled, JwtProperties.Signing signing) {
+        return new JwtProperties(
+                secret,
+                "Authentication_Service",
+                expiration,
+                new JwtProperties.Cache(cacheEnabled, 100),
+                new JwtProperties.Stateless(false, Duration.ofMinutes(15)),
+                signing,
+                JwtProperties.Revocation.defaults(),
+                JwtProperties.Claims.defaults()
+        );
+    }
+}
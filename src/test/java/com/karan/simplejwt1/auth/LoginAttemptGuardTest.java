@@ -0,0 +1,94 @@
+package com.karan.simplejwt1.auth;
+
+import com.karan.simplejwt1.auth.metrics.AuthMetrics;
+import com.karan.simplejwt1.auth.ratelimit.LoginAttemptGuard;
+import com.karan.simplejwt1.config.AuthProperties;
+import com.karan.simplejwt1.exception.TooManyRequestsException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LoginAttemptGuardTest {
+
+    private static final AuthProperties.LoginLimit LIMIT = new AuthProperties.LoginLimit(
+            true, 3, Duration.ofSeconds(10), 5, Duration.ofSeconds(1),
+            2, Duration.ofSeconds(30), Duration.ofMinutes(2), Duration.ofMinutes(30), 1000);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private LoginAttemptGuard guard;
+
+    @BeforeEach
+    void setup() {
+        guard = new LoginAttemptGuard(LIMIT, AuthMetrics.noop(), nanos::get);
+    }
+
+    @Test
+    void usernameBucketShouldAllowBurstThenRefill() {
+        for (int i = 0; i < 3; i++) {
+            guard.acquire("user123", "10.0.0." + i);
+        }
+        assertThatThrownBy(() -> guard.acquire("user123", "10.0.0.9"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(10)));
+
+        advance(Duration.ofSeconds(10));
+        assertThatCode(() -> guard.acquire("user123", "10.0.0.9")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void addressBucketShouldLimitSprayOverUsernames() {
+        for (int i = 0; i < 5; i++) {
+            guard.acquire("user" + i, "10.0.0.1");
+        }
+        assertThatThrownBy(() -> guard.acquire("user5", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThatCode(() -> guard.acquire("user5", "10.0.0.2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void repeatedFailuresShouldLockWithDoublingUntilSuccess() {
+        guard.onFailure("user123");
+        guard.onFailure("user123");
+        assertThatThrownBy(() -> guard.acquire("user123", "10.0.0.1"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(30)));
+
+        advance(Duration.ofSeconds(30));
+        guard.onFailure("user123");
+        assertThatThrownBy(() -> guard.acquire("user123", "10.0.0.1"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofSeconds(60)));
+
+        advance(Duration.ofSeconds(60));
+        guard.acquire("user123", "10.0.0.1");
+        guard.onSuccess("user123");
+        guard.onFailure("user123");
+        assertThatCode(() -> guard.acquire("user123", "10.0.0.1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void longLockoutsShouldStopAtTheMaximumInsteadOfOverflowing() {
+        var limit = new AuthProperties.LoginLimit(
+                true, 3, Duration.ofSeconds(10), 5, Duration.ofSeconds(1),
+                2, Duration.ofHours(3), Duration.ofDays(1), Duration.ofDays(2), 1000);
+        LoginAttemptGuard longGuard = new LoginAttemptGuard(limit, AuthMetrics.noop(), nanos::get);
+
+        for (int i = 0; i < 30; i++) {
+            longGuard.onFailure("user123");
+        }
+
+        assertThatThrownBy(() -> longGuard.acquire("user123", "10.0.0.1"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfter()).isEqualTo(Duration.ofDays(1)));
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
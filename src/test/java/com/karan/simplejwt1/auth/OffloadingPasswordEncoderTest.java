@@ -0,0 +1,66 @@
+package com.karan.simplejwt1.auth;
+
+import com.karan.simplejwt1.auth.metrics.AuthMetrics;
+import com.karan.simplejwt1.auth.password.HashAlgorithm;
+import com.karan.simplejwt1.auth.password.OffloadingPasswordEncoder;
+import com.karan.simplejwt1.auth.password.PasswordHashingExecutor;
+import com.karan.simplejwt1.config.AuthProperties;
+import com.karan.simplejwt1.exception.ServiceBusyException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class OffloadingPasswordEncoderTest {
+
+    private PasswordHashingExecutor executor;
+
+    @BeforeEach
+    public void setup(){
+        executor = new PasswordHashingExecutor(new AuthProperties.Hashing(1, 1, HashAlgorithm.BCRYPT, 4, Duration.ofMillis(250)));
+    }
+
+    @AfterEach
+    public void tearDown(){
+        executor.close();
+    }
+
+    @Test
+    void shouldHashOnHashingPool() {
+        var encoder = new OffloadingPasswordEncoder(new BCryptPasswordEncoder(4), executor, AuthMetrics.noop());
+
+        String encoded = encoder.encode("User@123");
+
+        assertThat(encoder.matches("User@123", encoded)).isTrue();
+        assertThat(encoder.matches("wrong", encoded)).isFalse();
+    }
+
+    @Test
+    void shouldRejectWhenQueueIsFull() throws Exception {
+        var encoder = new OffloadingPasswordEncoder(new BCryptPasswordEncoder(4), executor, AuthMetrics.noop());
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+
+        Future<Boolean> running = executor.submit(() -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        });
+        started.await(5, TimeUnit.SECONDS);
+        Future<Boolean> queued = executor.submit(() -> true);
+
+        assertThrows(ServiceBusyException.class, () -> encoder.encode("User@123"));
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(encoder.matches("User@123", encoder.encode("User@123"))).isTrue();
+    }
+}
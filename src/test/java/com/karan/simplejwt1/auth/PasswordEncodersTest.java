@@ -0,0 +1,75 @@
+package com.karan.simplejwt1.auth;
+
+import com.karan.simplejwt1.auth.password.HashAlgorithm;
+import com.karan.simplejwt1.auth.password.PasswordEncoders;
+import com.karan.simplejwt1.auth.password.PasswordHashCalibrator;
+import com.karan.simplejwt1.config.AuthProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PasswordEncodersTest {
+
+    private static PasswordEncoder encoder(HashAlgorithm algorithm, int cost) {
+        return PasswordEncoders.create(new AuthProperties.Hashing(0, 0, algorithm, cost, Duration.ofMillis(250)));
+    }
+
+    @Test
+    void shouldPrefixNewHashesWithAlgorithmId() {
+        PasswordEncoder encoder = encoder(HashAlgorithm.BCRYPT, 4);
+
+        String encoded = encoder.encode("User@123");
+
+        assertThat(encoded).startsWith("{bcrypt}$2a$04$");
+        assertThat(encoder.matches("User@123", encoded)).isTrue();
+        assertThat(encoder.upgradeEncoding(encoded)).isFalse();
+    }
+
+    @Test
+    void shouldRecognizeTheHashesOfEachAlgorithm() {
+        for (HashAlgorithm algorithm : HashAlgorithm.values()) {
+            String hash = algorithm.encoder(algorithm.minCost()).encode("User@123");
+
+            assertThat(algorithm.isWellFormed(hash)).as(algorithm.id()).isTrue();
+            assertThat(algorithm.isWellFormed(hash.substring(1))).as(algorithm.id()).isFalse();
+            assertThat(algorithm.isWellFormed("garbage")).as(algorithm.id()).isFalse();
+        }
+    }
+
+    @Test
+    void shouldVerifyAndUpgradeLegacyHashWithoutPrefix() {
+        PasswordEncoder encoder = encoder(HashAlgorithm.BCRYPT, 4);
+        String legacy = new BCryptPasswordEncoder(4).encode("User@123");
+
+        assertThat(encoder.matches("User@123", legacy)).isTrue();
+        assertThat(encoder.upgradeEncoding(legacy)).isTrue();
+    }
+
+    @Test
+    void shouldUpgradeHashBelowCurrentCost() {
+        String weak = encoder(HashAlgorithm.BCRYPT, 4).encode("User@123");
+
+        assertThat(encoder(HashAlgorithm.BCRYPT, 5).upgradeEncoding(weak)).isTrue();
+    }
+
+    @Test
+    void shouldVerifyOtherAlgorithmsAndUpgradeThemToCurrent() {
+        String argon2 = encoder(HashAlgorithm.ARGON2, 2).encode("User@123");
+        PasswordEncoder bcrypt = encoder(HashAlgorithm.BCRYPT, 4);
+
+        assertThat(argon2).startsWith("{argon2}");
+        assertThat(bcrypt.matches("User@123", argon2)).isTrue();
+        assertThat(bcrypt.upgradeEncoding(argon2)).isTrue();
+    }
+
+    @Test
+    void shouldCalibrateCostWithinBounds() {
+        int cost = PasswordHashCalibrator.calibrate(HashAlgorithm.BCRYPT, Duration.ofMillis(1));
+
+        assertThat(cost).isEqualTo(HashAlgorithm.BCRYPT.minCost());
+    }
+}
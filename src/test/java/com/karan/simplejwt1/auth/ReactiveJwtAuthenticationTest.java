@@ -0,0 +1,188 @@
+package com.karan.simplejwt1.auth;
+
+import com.karan.simplejwt1.auth.authority.Role;
+import com.karan.simplejwt1.auth.authority.RoleSet;
+import com.karan.simplejwt1.auth.filter.TokenAuthenticator;
+import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.jwt.VerifiedTokenCache;
+import com.karan.simplejwt1.auth.metrics.AuthMetrics;
+import com.karan.simplejwt1.auth.reactive.BearerTokenServerAuthenticationConverter;
+import com.karan.simplejwt1.auth.reactive.CachedReactiveUserDetailsService;
+import com.karan.simplejwt1.auth.reactive.JwtReactiveAuthenticationManager;
+import com.karan.simplejwt1.auth.repo.RevokedTokenRepo;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.revocation.TokenRevocationService;
+import com.karan.simplejwt1.auth.revocation.TokenVersionRegistry;
+import com.karan.simplejwt1.config.AuthProperties;
+import com.karan.simplejwt1.config.JwtProperties;
+import com.karan.simplejwt1.config.ReactiveSecurityConfig;
+import com.karan.simplejwt1.entity.SimpleUser;
+import com.karan.simplejwt1.exception.Problem;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.WebFilterChainProxy;
+import org.springframework.security.web.server.authentication.AuthenticationWebFilter;
+import org.springframework.security.web.server.authentication.ServerAuthenticationEntryPointFailureHandler;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class ReactiveJwtAuthenticationTest {
+
+    private final AtomicInteger lookups = new AtomicInteger();
+
+    private JwtService jwtService;
+    private TokenRevocationService revocationService;
+    private TokenAuthenticator authenticator;
+    private CachedReactiveUserDetailsService users;
+    private WebTestClient client;
+
+    @BeforeEach
+    void setup() {
+        JwtProperties properties = JwtTestProperties.defaults();
+        jwtService = new JwtService(properties);
+        revocationService = new TokenRevocationService(mock(RevokedTokenRepo.class), properties);
+        authenticator = new TokenAuthenticator(
+                jwtService,
+                new VerifiedTokenCache(jwtService, properties, AuthMetrics.noop()),
+                revocationService,
+                new TokenVersionRegistry(mock(UserRepo.class)),
+                properties
+        );
+        users = new CachedReactiveUserDetailsService(
+                this::lookup,
+                Schedulers.boundedElastic(),
+                new AuthProperties.UserCache(true, Duration.ofMinutes(5), 100)
+        );
+
+        AuthenticationWebFilter filter = new AuthenticationWebFilter(new JwtReactiveAuthenticationManager(authenticator, users, AuthMetrics.noop()));
+        filter.setServerAuthenticationConverter(new BearerTokenServerAuthenticationConverter());
+        filter.setSecurityContextRepository(NoOpServerSecurityContextRepository.getInstance());
+        filter.setAuthenticationFailureHandler(new ServerAuthenticationEntryPointFailureHandler(
+                (exchange, e) -> Problem.INVALID_TOKEN.writeTo(exchange.getResponse())));
+
+        client = WebTestClient.bindToController(new WhoAmIController()).webFilter(filter).build();
+    }
+
+    private Optional<SimpleUser> lookup(String username) {
+        lookups.incrementAndGet();
+        Role role = switch (username) {
+            case "user123" -> Role.USER;
+            case "gateway" -> Role.SERVICE;
+            case "admin" -> Role.ADMIN;
+            default -> null;
+        };
+        if (role == null) {
+            return Optional.empty();
+        }
+        SimpleUser user = new SimpleUser();
+        user.setUsername(username);
+        user.setEnabled(true);
+        user.setRoles(RoleSet.of(role));
+        return Optional.of(user);
+    }
+
+    @Test
+    void validTokenShouldAuthenticateAndCacheTheUser() {
+        String token = jwtService.generateToken("user123");
+
+        for (int i = 0; i < 3; i++) {
+            client.get().uri("/whoami").header("Authorization", "Bearer " + token)
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectBody(String.class).isEqualTo("user123");
+        }
+        assertThat(lookups).hasValue(1);
+    }
+
+    @Test
+    void requestWithoutTokenShouldStayAnonymous() {
+        client.get().uri("/whoami")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class).isEqualTo("anonymous");
+    }
+
+    @Test
+    void invalidUnknownOrRevokedTokenShouldBeUnauthorized() {
+        client.get().uri("/whoami").header("Authorization", "Bearer not-a-jwt")
+                .exchange()
+                .expectStatus().isUnauthorized()
+                .expectHeader().contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody().jsonPath("$.code").isEqualTo("invalid_token");
+
+        client.get().uri("/whoami").header("Authorization", "Bearer " + jwtService.generateToken("ghost"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+
+        String token = jwtService.generateToken("user123");
+        revocationService.revoke(jwtService.verify(token));
+        client.get().uri("/whoami").header("Authorization", "Bearer " + token)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void reactiveChainShouldApplyTheSameAccessRulesAsTheServletChain() {
+        SecurityWebFilterChain chain = new ReactiveSecurityConfig()
+                .securityWebFilterChain(ServerHttpSecurity.http(), authenticator, users, AuthMetrics.noop());
+        WebTestClient secured = WebTestClient.bindToController(new ProtectedController())
+                .webFilter(new WebFilterChainProxy(chain))
+                .build();
+        String user = "Bearer " + jwtService.generateToken("user123");
+        String gateway = "Bearer " + jwtService.generateToken("gateway");
+        String admin = "Bearer " + jwtService.generateToken("admin");
+
+        secured.get().uri("/.well-known/jwks.json").exchange().expectStatus().isOk();
+        secured.post().uri("/auth/login").exchange().expectStatus().isOk();
+
+        secured.post().uri("/auth/introspect").exchange().expectStatus().isUnauthorized();
+        secured.post().uri("/auth/introspect").header("Authorization", user).exchange().expectStatus().isForbidden();
+        secured.post().uri("/auth/introspect").header("Authorization", gateway).exchange().expectStatus().isOk();
+
+        secured.get().uri("/actuator/prometheus").header("Authorization", user).exchange().expectStatus().isForbidden();
+        secured.get().uri("/actuator/prometheus").header("Authorization", gateway).exchange().expectStatus().isOk();
+
+        secured.get().uri("/admin/users").exchange().expectStatus().isUnauthorized();
+        secured.get().uri("/admin/users").header("Authorization", user).exchange().expectStatus().isForbidden();
+        secured.post().uri("/admin/users/import").header("Authorization", user).exchange().expectStatus().isForbidden();
+        secured.get().uri("/admin/users").header("Authorization", admin).exchange().expectStatus().isOk();
+        secured.post().uri("/admin/users/import").header("Authorization", admin).exchange().expectStatus().isOk();
+    }
+
+    @RestController
+    static class ProtectedController {
+
+        @RequestMapping({"/.well-known/jwks.json", "/auth/login", "/auth/introspect", "/actuator/prometheus",
+                "/admin/users", "/admin/users/import"})
+        Mono<String> ok() {
+            return Mono.just("ok");
+        }
+    }
+
+    @RestController
+    static class WhoAmIController {
+
+        @GetMapping("/whoami")
+        Mono<String> whoAmI() {
+            return ReactiveSecurityContextHolder.getContext()
+                    .map(context -> context.getAuthentication().getName())
+                    .defaultIfEmpty("anonymous");
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.karan.simplejwt1.auth;
+
+import com.karan.simplejwt1.auth.authority.Permission;
+import com.karan.simplejwt1.auth.authority.PermissionAuthorizationManager;
+import com.karan.simplejwt1.auth.authority.Role;
+import com.karan.simplejwt1.auth.authority.RoleSet;
+import com.karan.simplejwt1.auth.jwt.ClaimsPrincipal;
+import com.karan.simplejwt1.entity.SimpleUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RoleSetTest {
+
+    @Test
+    void usersWithTheSameRolesShouldShareOneAuthorityList() {
+        SimpleUser first = new SimpleUser();
+        SimpleUser second = new SimpleUser();
+        first.setRoles(RoleSet.of(Role.USER, Role.ADMIN));
+        second.setRoles(RoleSet.of(Role.ADMIN, Role.USER));
+
+        assertThat(first.getAuthorities()).isSameAs(second.getAuthorities());
+        assertThat(RoleSet.authorities(first.getRoles()))
+                .containsExactly(Role.USER, Role.ADMIN, Permission.USERS_READ, Permission.USERS_IMPORT,
+                        Permission.TOKENS_INTROSPECT, Permission.METRICS_READ);
+        assertThat(RoleSet.authorities(new SimpleUser().getRoles())).containsExactly(Role.USER);
+        assertThrows(UnsupportedOperationException.class, () -> RoleSet.authorities(RoleSet.DEFAULT).add(Role.ADMIN));
+    }
+
+    @Test
+    void shouldReadRoleNamesOfLegacyTokensAndRejectUnknownRoles() {
+        assertThat(RoleSet.fromAuthorities(List.of("USER", "something-else"))).isEqualTo(RoleSet.DEFAULT);
+        assertThat(RoleSet.parse(List.of("user", " Support "))).isEqualTo(RoleSet.of(Role.USER, Role.SUPPORT));
+        assertThrows(IllegalArgumentException.class, () -> RoleSet.parse(List.of("ROOT")));
+    }
+
+    @Test
+    void permissionCheckShouldTestTheRoleMaskOfThePrincipal() {
+        var manager = PermissionAuthorizationManager.<Object>require(Permission.USERS_IMPORT);
+        var support = principal(RoleSet.of(Role.USER, Role.SUPPORT));
+        var admin = principal(RoleSet.of(Role.ADMIN));
+
+        assertThat(manager.authorize(() -> admin, null).isGranted()).isTrue();
+        assertThat(manager.authorize(() -> support, null).isGranted()).isFalse();
+        assertThat(manager.authorize(() -> admin, null)).isSameAs(manager.authorize(() -> admin, null));
+        assertThat(PermissionAuthorizationManager.require(Permission.USERS_READ).authorize(() -> support, null).isGranted())
+                .isTrue();
+    }
+
+    @Test
+    void permissionCheckShouldFallBackToAuthoritiesForOtherPrincipals() {
+        var manager = PermissionAuthorizationManager.<Object>require(Permission.USERS_READ);
+        Authentication granted = UsernamePasswordAuthenticationToken.authenticated(
+                "someone", null, List.of(new SimpleGrantedAuthority("users:read")));
+        Authentication unauthenticated = UsernamePasswordAuthenticationToken.unauthenticated("someone", null);
+
+        assertThat(manager.authorize(() -> granted, null).isGranted()).isTrue();
+        assertThat(manager.authorize(() -> unauthenticated, null).isGranted()).isFalse();
+        assertThat(manager.authorize(() -> null, null).isGranted()).isFalse();
+    }
+
+    private static Authentication principal(int roles) {
+        ClaimsPrincipal principal = new ClaimsPrincipal("user", roles, true, 0L, 1L, 0);
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+    }
+}
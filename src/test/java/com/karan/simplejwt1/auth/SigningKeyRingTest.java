@@ -0,0 +1,99 @@
+package com.karan.simplejwt1.auth;
+
+import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.config.JwtProperties;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.security.KeyPair;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SigningKeyRingTest {
+
+    private static JwtProperties.Key key(String id, KeyPair pair, boolean withPrivateKey) {
+        Base64.Encoder encoder = Base64.getEncoder();
+        return new JwtProperties.Key(
+                id,
+                withPrivateKey ? encoder.encodeToString(pair.getPrivate().getEncoded()) : null,
+                encoder.encodeToString(pair.getPublic().getEncoded())
+        );
+    }
+
+    private static JwtService service(SignatureAlgorithm algorithm, String activeKeyId, JwtProperties.Key... keys) {
+        var signing = new JwtProperties.Signing(algorithm, activeKeyId, List.of(keys));
+        return new JwtService(JwtTestProperties.of(null, Duration.ofDays(7), true, signing));
+    }
+
+    @Test
+    void shouldSignAndVerifyWithRsaKey() {
+        KeyPair pair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        JwtService jwtService = service(SignatureAlgorithm.RS256, null, key("rsa-1", pair, true));
+
+        String token = jwtService.generateToken("user123");
+
+        assertThat(jwtService.verify(token).subject()).isEqualTo("user123");
+        List<Map<String, Object>> jwks = jwtService.keyRing().publicJwks();
+        assertThat(jwks).hasSize(1);
+        assertThat(jwks.getFirst())
+                .containsEntry("kty", "RSA")
+                .containsEntry("kid", "rsa-1")
+                .containsEntry("alg", "RS256")
+                .containsKeys("n", "e");
+    }
+
+    @Test
+    void shouldSignAndVerifyWithEcKey() {
+        KeyPair pair = Keys.keyPairFor(SignatureAlgorithm.ES256);
+        JwtService jwtService = service(SignatureAlgorithm.ES256, null, key("ec-1", pair, true));
+
+        String token = jwtService.generateToken("user123");
+
+        assertThat(jwtService.verify(token).subject()).isEqualTo("user123");
+        assertThat(jwtService.keyRing().publicJwks().getFirst())
+                .containsEntry("kty", "EC")
+                .containsEntry("crv", "P-256")
+                .containsKeys("x", "y");
+    }
+
+    @Test
+    void shouldVerifyTokensOfRetiringKeyAfterRotation() {
+        KeyPair previous = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        KeyPair next = Keys.keyPairFor(SignatureAlgorithm.RS256);
+        String oldToken = service(SignatureAlgorithm.RS256, null, key("2026-07", previous, true)).generateToken("user123");
+
+        JwtService rotated = service(SignatureAlgorithm.RS256, "2026-10", key("2026-10", next, true), key("2026-07", previous, false));
+
+        assertThat(rotated.verify(oldToken).subject()).isEqualTo("user123");
+        assertThat(rotated.verify(rotated.generateToken("user123")).subject()).isEqualTo("user123");
+        assertThat(rotated.keyRing().publicJwks()).extracting(jwk -> jwk.get("kid")).containsExactly("2026-10", "2026-07");
+    }
+
+    @Test
+    void shouldRejectTokenOfUnknownKey() {
+        String foreign = service(SignatureAlgorithm.RS256, null, key("other", Keys.keyPairFor(SignatureAlgorithm.RS256), true))
+                .generateToken("user123");
+        JwtService jwtService = service(SignatureAlgorithm.RS256, null, key("rsa-1", Keys.keyPairFor(SignatureAlgorithm.RS256), true));
+
+        assertThrows(JwtException.class, () -> jwtService.verify(foreign));
+    }
+
+    @Test
+    void shouldNotPublishHmacSecret() {
+        assertThat(new JwtService(JwtTestProperties.defaults()).keyRing().publicJwks()).isEmpty();
+    }
+
+    @Test
+    void shouldFailFastWhenActiveKeyCannotSign() {
+        KeyPair pair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+
+        assertThrows(IllegalStateException.class, () -> service(SignatureAlgorithm.RS256, null, key("rsa-1", pair, false)));
+    }
+}
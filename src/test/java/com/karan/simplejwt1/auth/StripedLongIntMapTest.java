@@ -0,0 +1,70 @@
+package com.karan.simplejwt1.auth;
+
+import com.karan.simplejwt1.auth.revocation.StripedLongIntMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StripedLongIntMapTest {
+
+    @Test
+    void shouldBehaveLikeAMapUnderRandomOperations() {
+        StripedLongIntMap map = new StripedLongIntMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int n = 0; n < 200_000; n++) {
+            long key = random.nextInt(5_000);
+            if (random.nextInt(4) == 0) {
+                map.remove(key);
+                expected.remove(key);
+            } else {
+                int value = random.nextInt(100);
+                map.put(key, value);
+                expected.put(key, value);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 0; key < 5_000; key++) {
+            assertThat(map.get(key, -1)).isEqualTo(expected.getOrDefault(key, -1));
+        }
+    }
+
+    @Test
+    void putIfGreaterShouldNeverMoveBackwards() {
+        StripedLongIntMap map = new StripedLongIntMap(2);
+        map.putIfGreater(7L, 3);
+        map.putIfGreater(7L, 1);
+        assertThat(map.get(7L, -1)).isEqualTo(3);
+
+        map.putIfGreater(7L, 4);
+        assertThat(map.get(7L, -1)).isEqualTo(4);
+    }
+
+    @Test
+    void readersShouldSeeMonotonicValuesWhileWritersResize() throws InterruptedException {
+        StripedLongIntMap map = new StripedLongIntMap(2);
+        map.put(1L, 0);
+        Thread writer = new Thread(() -> {
+            for (int value = 1; value <= 50_000; value++) {
+                map.put(1L, value);
+                map.put(1_000L + value, value);
+            }
+        });
+        writer.start();
+
+        int last = 0;
+        while (writer.isAlive()) {
+            int seen = map.get(1L, -1);
+            assertThat(seen).isGreaterThanOrEqualTo(last);
+            last = seen;
+        }
+        writer.join();
+        assertThat(map.get(1L, -1)).isEqualTo(50_000);
+    }
+}
@@ -0,0 +1,76 @@
+package com.karan.simplejwt1.auth;
+
+import com.karan.simplejwt1.auth.jwt.JwtClaims;
+import com.karan.simplejwt1.auth.jwt.VerifiedToken;
+import com.karan.simplejwt1.auth.repo.UserChangedEvent;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.repo.UserTokenVersion;
+import com.karan.simplejwt1.auth.revocation.TokenVersionRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TokenVersionRegistryTest {
+
+    private final UserRepo userRepo = mock(UserRepo.class);
+    private final TokenVersionRegistry registry = new TokenVersionRegistry(userRepo);
+
+    @Test
+    void syncShouldPickUpLogoutEverywhereFromOtherNodes() {
+        when(userRepo.findAllTokenVersions()).thenReturn(List.of(version(7L, 0)));
+        registry.warm();
+        assertThat(registry.isStale(token(7L, 0))).isFalse();
+
+        // another node bumped the version; no local event arrives
+        when(userRepo.findTokenVersionsUpdatedSince(any())).thenReturn(List.of(version(7L, 1)));
+        registry.sync();
+
+        // only rows changed since the warm-up are read, with an overlap for clock skew
+        verify(userRepo).findAllTokenVersions();
+        verify(userRepo).findTokenVersionsUpdatedSince(argThat(since -> since.isBefore(Instant.now())
+                && since.isAfter(Instant.now().minusSeconds(120))));
+
+        assertThat(registry.isStale(token(7L, 0))).isTrue();
+        assertThat(registry.isStale(token(7L, 1))).isFalse();
+    }
+
+    @Test
+    void removedUserShouldKeepItsTokensStale() {
+        when(userRepo.findAllTokenVersions()).thenReturn(List.of(version(8L, 2)));
+        registry.warm();
+
+        registry.update(new UserChangedEvent(8L, "removed-user", 2, true));
+        registry.sync();
+
+        assertThat(registry.isStale(token(8L, 2))).isTrue();
+        assertThat(registry.isStale(token(8L, 3))).isTrue();
+    }
+
+    private static VerifiedToken token(long userId, int tokenVersion) {
+        return new VerifiedToken("jti", "user", "issuer", Instant.now(), Instant.now().plusSeconds(60),
+                Map.of(JwtClaims.USER_ID, userId, JwtClaims.TOKEN_VERSION, tokenVersion));
+    }
+
+    private static UserTokenVersion version(long id, int tokenVersion) {
+        return new UserTokenVersion() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public int getTokenVersion() {
+                return tokenVersion;
+            }
+        };
+    }
+}
@@ -1,16 +1,22 @@
 package com.karan.simplejwt1.auth;
 
+import com.karan.simplejwt1.auth.repo.AuthenticatedUser;
 import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.repo.UserSummary;
 import com.karan.simplejwt1.entity.SimpleUser;
+import org.hibernate.Session;
 import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -109,4 +115,64 @@ public class UserRepoTest {
                 .extracting(SimpleUser::getUsername)
                 .containsExactly("user1");
     }
+
+    @Test
+    @DisplayName("should page enabled users as summaries")
+    public void shouldPageEnabledUsers(){
+        for (int i = 0; i < 3; i++) {
+            SimpleUser user = new SimpleUser();
+            user.setUsername("paged" + i);
+            user.setPassword("pass");
+            user.setEnabled(i != 1);
+            testEntityManager.persist(user);
+        }
+        testEntityManager.flush();
+
+        Slice<UserSummary> first = userRepo.findEnabledUsers(PageRequest.of(0, 1));
+        Slice<UserSummary> second = userRepo.findEnabledUsers(first.nextPageable());
+
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.hasNext()).isFalse();
+        assertThat(Stream.concat(first.stream(), second.stream()).map(UserSummary::getUsername))
+                .containsExactlyInAnyOrder("paged0", "paged2");
+    }
+
+    @Test
+    @DisplayName("should stream enabled users in id order")
+    public void shouldStreamEnabledUsers(){
+        for (int i = 0; i < 3; i++) {
+            SimpleUser user = new SimpleUser();
+            user.setUsername("streamed" + i);
+            user.setPassword("pass");
+            user.setEnabled(i != 1);
+            testEntityManager.persist(user);
+        }
+        testEntityManager.flush();
+
+        try (Stream<UserSummary> users = userRepo.streamEnabledUsers()) {
+            assertThat(users.map(UserSummary::getUsername))
+                    .containsExactly("streamed0", "streamed2");
+        }
+    }
+
+    @Test
+    @DisplayName("should read the authenticated user without loading the entity")
+    public void shouldFindAuthenticatedUserAsProjection(){
+        SimpleUser user = new SimpleUser();
+        user.setUsername("projected");
+        user.setEmail("projected@gmail.com");
+        user.setPassword("hash");
+        user.setEnabled(true);
+        testEntityManager.persistAndFlush(user);
+        testEntityManager.clear();
+
+        Optional<AuthenticatedUser> result = userRepo.findAuthenticatedUserByUsername("projected");
+
+        assertThat(result).get()
+                .satisfies(found -> assertThat(found.id()).isEqualTo(user.getId()))
+                .satisfies(found -> assertThat(found.getPassword()).isEqualTo("hash"))
+                .satisfies(found -> assertThat(found.email()).isEqualTo("projected@gmail.com"));
+        // nothing was added to the persistence context
+        assertThat(testEntityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
 }
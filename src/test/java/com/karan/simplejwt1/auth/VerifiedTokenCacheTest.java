@@ -0,0 +1,106 @@
+package com.karan.simplejwt1.auth;
+
+import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.jwt.VerifiedToken;
+import com.karan.simplejwt1.auth.jwt.VerifiedTokenCache;
+import com.karan.simplejwt1.auth.metrics.AuthMetrics;
+import com.karan.simplejwt1.config.JwtProperties;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class VerifiedTokenCacheTest {
+
+    private JwtService jwtService;
+    private VerifiedTokenCache tokenCache;
+
+    @BeforeEach
+    public void setup(){
+        var properties = JwtTestProperties.defaults();
+        jwtService = spy(new JwtService(properties));
+        tokenCache = new VerifiedTokenCache(jwtService, properties, AuthMetrics.noop());
+    }
+
+    @Test
+    void shouldVerifySignatureOnlyOnFirstUse() {
+        String token = jwtService.generateToken("user123");
+
+        VerifiedToken first = tokenCache.verify(token);
+        VerifiedToken second = tokenCache.verify(token);
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.subject()).isEqualTo("user123");
+        verify(jwtService, times(1)).verify(token);
+        assertThat(tokenCache.stats().hitCount()).isEqualTo(1);
+        assertThat(tokenCache.stats().missCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldShareEntryBetweenTokenAndBearerHeader() {
+        String token = jwtService.generateToken("user123");
+
+        VerifiedToken fromHeader = tokenCache.verify("Bearer " + token, "Bearer ".length());
+        VerifiedToken fromToken = tokenCache.verify(token);
+
+        assertThat(fromToken).isSameAs(fromHeader);
+        verify(jwtService, times(1)).verify(token);
+    }
+
+    @Test
+    void shouldNotCacheInvalidToken() {
+        assertThrows(JwtException.class, () -> tokenCache.verify("invalid.token.value"));
+        assertThrows(JwtException.class, () -> tokenCache.verify("invalid.token.value"));
+
+        verify(jwtService, times(2)).verify("invalid.token.value");
+    }
+
+    @Test
+    void shouldNotReturnEntryPastTokenExpiry() throws InterruptedException {
+        var properties = JwtTestProperties.of(JwtTestProperties.SECRET, Duration.ofMillis(1500), true, JwtProperties.Signing.hmac());
+        var shortLived = spy(new JwtService(properties));
+        var cache = new VerifiedTokenCache(shortLived, properties, AuthMetrics.noop());
+        String token = shortLived.generateToken("user123");
+
+        cache.verify(token);
+        Thread.sleep(1600);
+
+        assertThrows(JwtException.class, () -> cache.verify(token));
+        verify(shortLived, times(2)).verify(token);
+    }
+
+    @Test
+    void shouldBypassCacheWhenDisabled() {
+        var properties = JwtTestProperties.of(JwtTestProperties.SECRET, Duration.ofDays(7), false, JwtProperties.Signing.hmac());
+        var cache = new VerifiedTokenCache(jwtService, properties, AuthMetrics.noop());
+        String token = jwtService.generateToken("user123");
+
+        cache.verify(token);
+        cache.verify(token);
+
+        verify(jwtService, times(2)).verify(token);
+    }
+
+    @Test
+    void shouldPublishCacheMetrics() {
+        var registry = new SimpleMeterRegistry();
+        tokenCache.bindTo(registry);
+        String token = jwtService.generateToken("user123");
+
+        tokenCache.verify(token);
+        tokenCache.verify(token);
+
+        assertThat(registry.get("cache.gets").tag("cache", "jwt.verified-tokens").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.evictions").tag("cache", "jwt.verified-tokens")
+                .functionCounter().count()).isZero();
+    }
+}
@@ -0,0 +1,61 @@
+package com.karan.simplejwt1.benchmark;
+
+import com.karan.simplejwt1.auth.repo.RevokedTokenRepo;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.revocation.TokenRevocationService;
+import com.karan.simplejwt1.auth.revocation.TokenVersionRegistry;
+import com.karan.simplejwt1.config.JwtProperties;
+import com.karan.simplejwt1.entity.SimpleUser;
+
+import org.mockito.Mockito;
+
+import java.time.Duration;
+
+/**
+ * Objects shared by the benchmarks, built the same way the application builds them.
+ */
+final class BenchmarkFixtures {
+
+    static final String SECRET = "357638792F423F4428472B4B6250655368566D597133743677397A2443264629";
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtProperties jwtProperties(boolean cacheEnabled, boolean stateless) {
+        return new JwtProperties(
+                SECRET,
+                "Authentication_Service",
+                Duration.ofDays(7),
+                new JwtProperties.Cache(cacheEnabled, 10_000),
+                new JwtProperties.Stateless(stateless, Duration.ofMinutes(15)),
+                JwtProperties.Signing.hmac(),
+                JwtProperties.Revocation.defaults(),
+                JwtProperties.Claims.defaults()
+        );
+    }
+
+    /**
+     * Revocation service over an empty deny-list, so every check takes the filter-only path.
+     */
+    static TokenRevocationService revocationService(JwtProperties properties) {
+        return new TokenRevocationService(Mockito.mock(RevokedTokenRepo.class), properties);
+    }
+
+    /**
+     * Token version registry with no users loaded, so no token is ever stale.
+     */
+    static TokenVersionRegistry tokenVersionRegistry() {
+        return new TokenVersionRegistry(Mockito.mock(UserRepo.class));
+    }
+
+    static SimpleUser user() {
+        SimpleUser user = new SimpleUser();
+        user.setId(1L);
+        user.setUsername("user123");
+        user.setPassword("{bcrypt}$2a$12$abcdefghijklmnopqrstuu5bKkA0N8BIm6w5kA5v.Yq9RkqQ0y3sK");
+        user.setEmail("user123@gmail.com");
+        user.setEnabled(true);
+        user.setVersion(0L);
+        return user;
+    }
+}
@@ -0,0 +1,107 @@
+package com.karan.simplejwt1.benchmark;
+
+import com.karan.simplejwt1.auth.filter.JwtFilter;
+import com.karan.simplejwt1.auth.filter.TokenAuthenticator;
+import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.jwt.VerifiedTokenCache;
+import com.karan.simplejwt1.auth.metrics.AuthMetrics;
+import com.karan.simplejwt1.config.JwtProperties;
+import com.karan.simplejwt1.entity.SimpleUser;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end cost of {@link JwtFilter} for one authenticated request, and for a request to a
+ * public path carrying a token, with mocked servlet objects and an in-memory user lookup
+ * standing in for the database.
+ * <p>The request and response are rebuilt for every invocation so {@code OncePerRequestFilter}
+ * does not skip them; their cost is part of the score and constant across parameters.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean tokenCache;
+
+    @Param({"true", "false"})
+    public boolean stateless;
+
+    private JwtFilter filter;
+    private String authorization;
+    private String forged;
+    private final FilterChain chain = (request, response) -> { };
+
+    @Setup
+    public void setup() {
+        JwtProperties properties = BenchmarkFixtures.jwtProperties(tokenCache, stateless);
+        JwtService jwtService = new JwtService(properties);
+        SimpleUser user = BenchmarkFixtures.user();
+        filter = new JwtFilter(
+                new TokenAuthenticator(
+                        jwtService,
+                        new VerifiedTokenCache(jwtService, properties, AuthMetrics.noop()),
+                        BenchmarkFixtures.revocationService(properties),
+                        BenchmarkFixtures.tokenVersionRegistry(),
+                        properties
+                ),
+                username -> user,
+                AuthMetrics.noop()
+        );
+        authorization = "Bearer " + jwtService.generateToken(user);
+        forged = authorization.substring(0, authorization.length() - 4) + "AAAA";
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/home/secure");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, chain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+
+    /**
+     * A token that fails signature verification; covers the parse failure and the 401 body.
+     */
+    @Benchmark
+    public MockHttpServletResponse rejectedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/home/secure");
+        request.addHeader("Authorization", forged);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse publicRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.addHeader("Authorization", authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
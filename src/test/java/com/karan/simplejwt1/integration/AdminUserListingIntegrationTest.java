@@ -0,0 +1,133 @@
+package com.karan.simplejwt1.integration;
+
+import com.karan.simplejwt1.auth.AdminUserController;
+import com.karan.simplejwt1.auth.authority.Role;
+import com.karan.simplejwt1.auth.authority.RoleSet;
+import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.entity.SimpleUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class AdminUserListingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    JwtService jwtService;
+
+    @Autowired
+    UserRepo userRepo;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepo.findByUsername("listing-admin").isEmpty()) {
+            SimpleUser admin = user("listing-admin", true);
+            admin.setRoles(RoleSet.of(Role.USER, Role.ADMIN));
+            userRepo.saveAndFlush(admin);
+            for (int i = 0; i < 5; i++) {
+                userRepo.saveAndFlush(user("listed-" + i, i != 2));
+            }
+        }
+        token = jwtService.generateToken("listing-admin");
+    }
+
+    @Test
+    void shouldPageThroughEnabledUsersByKeyset() throws Exception {
+        List<String> usernames = new ArrayList<>();
+        List<Long> ids = new ArrayList<>();
+        long after = 0;
+        int pages = 0;
+        while (true) {
+            String body = mockMvc.perform(get("/admin/users")
+                            .header("Authorization", "Bearer " + token)
+                            .param("after", String.valueOf(after))
+                            .param("limit", "2"))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode page = objectMapper.readTree(body);
+            page.get("users").forEach(user -> {
+                usernames.add(user.get("username").asString());
+                ids.add(user.get("id").asLong());
+            });
+            pages++;
+            if (page.get("nextAfter").isNull()) {
+                break;
+            }
+            assertThat(page.get("users")).hasSize(2);
+            after = page.get("nextAfter").asLong();
+        }
+
+        assertThat(pages).isGreaterThan(1);
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+        assertThat(usernames)
+                .contains("listing-admin", "listed-0", "listed-1", "listed-3", "listed-4")
+                .doesNotContain("listed-2");
+    }
+
+    @Test
+    void shouldExportEnabledUsersAsNdjson() throws Exception {
+        String body = mockMvc.perform(get("/admin/users/export")
+                        .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(AdminUserController.NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        List<String> usernames = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            JsonNode user = objectMapper.readTree(line);
+            assertThat(user.has("password")).isFalse();
+            usernames.add(user.get("username").asString());
+        }
+        assertThat(usernames)
+                .hasSize((int) userRepo.findAll().stream().filter(SimpleUser::isEnabled).count())
+                .contains("listing-admin", "listed-4")
+                .doesNotContain("listed-2");
+    }
+
+    @Test
+    void shouldRequireTheReadPermission() throws Exception {
+        mockMvc.perform(get("/admin/users"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/admin/users")
+                        .header("Authorization", "Bearer " + jwtService.generateToken("listed-0")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/admin/users/export"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/admin/users/export")
+                        .header("Authorization", "Bearer " + jwtService.generateToken("listed-0")))
+                .andExpect(status().isForbidden());
+    }
+
+    private static SimpleUser user(String username, boolean enabled) {
+        SimpleUser user = new SimpleUser();
+        user.setUsername(username);
+        user.setPassword("encoded-pass");
+        user.setEnabled(enabled);
+        return user;
+    }
+}
@@ -0,0 +1,88 @@
+package com.karan.simplejwt1.integration;
+
+import com.karan.simplejwt1.auth.authority.Role;
+import com.karan.simplejwt1.auth.authority.RoleSet;
+import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.service.IAuthService;
+import com.karan.simplejwt1.domain.AuthRequest;
+import com.karan.simplejwt1.domain.RegisterRequest;
+import com.karan.simplejwt1.entity.SimpleUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "management.prometheus.metrics.export.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class AuthMetricsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    IAuthService authService;
+
+    @Autowired
+    MeterRegistry registry;
+
+    @Autowired
+    JwtService jwtService;
+
+    @Autowired
+    UserRepo userRepo;
+
+    @Test
+    void loginShouldRecordEveryStageOfTheHotPath() {
+        authService.register(new RegisterRequest("metrics-user", "User@123", null));
+        authService.logIn(new AuthRequest("metrics-user", "User@123"));
+
+        assertThat(registry.get("auth.login").timer().count()).isPositive();
+        assertThat(registry.get("auth.register").timer().count()).isPositive();
+        assertThat(registry.get("auth.password.hash").tag("operation", "encode").timer().count()).isPositive();
+        assertThat(registry.get("auth.password.hash").tag("operation", "matches").timer().count()).isPositive();
+        assertThat(registry.get("auth.db.write").tag("operation", "save_user").timer().count()).isPositive();
+        assertThat(registry.get("auth.token.generate").timer().count()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void rejectedTokenShouldBeCountedByExceptionType() throws Exception {
+        mockMvc.perform(get("/home/secure").header("Authorization", "Bearer not-a-token"))
+                .andExpect(status().isUnauthorized());
+
+        assertThat(registry.get("auth.filter.failures").tag("exception", "MalformedJwtException").counter().count())
+                .isPositive();
+    }
+
+    @Test
+    void prometheusEndpointShouldExposeAuthTimersToScrapersOnly() throws Exception {
+        authService.register(new RegisterRequest("scraped-user", "User@123", null));
+        SimpleUser scraper = new SimpleUser();
+        scraper.setUsername("metrics-scraper");
+        scraper.setPassword("encoded-pass");
+        scraper.setEnabled(true);
+        scraper.setRoles(RoleSet.of(Role.SERVICE));
+        userRepo.saveAndFlush(scraper);
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + jwtService.generateToken("scraped-user")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/actuator/prometheus")
+                        .header("Authorization", "Bearer " + jwtService.generateToken("metrics-scraper")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("auth_register_seconds_bucket")))
+                .andExpect(content().string(containsString("auth_token_generate_seconds_bucket")));
+    }
+}
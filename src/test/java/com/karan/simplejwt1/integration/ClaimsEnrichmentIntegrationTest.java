@@ -0,0 +1,41 @@
+package com.karan.simplejwt1.integration;
+
+import com.karan.simplejwt1.auth.claims.EmailClaimProvider;
+import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.service.IAuthService;
+import com.karan.simplejwt1.domain.AuthRequest;
+import com.karan.simplejwt1.domain.AuthResponse;
+import com.karan.simplejwt1.domain.RefreshRequest;
+import com.karan.simplejwt1.domain.RegisterRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "jwt.claims.email=true")
+@ActiveProfiles("test")
+public class ClaimsEnrichmentIntegrationTest {
+
+    @Autowired
+    IAuthService authService;
+
+    @Autowired
+    JwtService jwtService;
+
+    @Test
+    void tokensShouldCarryTheEmailFromRegistrationLoginAndRefresh() {
+        AuthResponse registered = authService.register(new RegisterRequest("enriched", "Enrich@123", "enriched@example.com"));
+        AuthResponse loggedIn = authService.logIn(new AuthRequest("enriched", "Enrich@123"));
+        AuthResponse refreshed = authService.refresh(new RefreshRequest(loggedIn.refreshToken()));
+
+        assertThat(email(registered)).isEqualTo("enriched@example.com");
+        assertThat(email(loggedIn)).isEqualTo("enriched@example.com");
+        assertThat(email(refreshed)).isEqualTo("enriched@example.com");
+    }
+
+    private String email(AuthResponse response) {
+        return jwtService.verify(response.token()).claim(EmailClaimProvider.EMAIL, String.class);
+    }
+}
@@ -0,0 +1,75 @@
+package com.karan.simplejwt1.integration;
+
+import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.entity.SimpleUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "jwt.signing.algorithm=ES256")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class JwksIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    JwtService jwtService;
+
+    @Autowired
+    UserRepo userRepo;
+
+    @Test
+    void shouldPublishActivePublicKeyWithoutAuthentication() throws Exception {
+        String kid = jwtService.keyRing().active().kid();
+
+        mockMvc.perform(get("/.well-known/jwks.json"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", startsWith("max-age=300")))
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.keys[0].kid").value(kid))
+                .andExpect(jsonPath("$.keys[0].kty").value("EC"));
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForCurrentETag() throws Exception {
+        String eTag = mockMvc.perform(get("/.well-known/jwks.json"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/.well-known/jwks.json").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag));
+        mockMvc.perform(get("/.well-known/jwks.json").header("If-None-Match", "W/" + eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/.well-known/jwks.json").header("If-None-Match", "\"stale\", " + eTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/.well-known/jwks.json").header("If-None-Match", "*"))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/.well-known/jwks.json").header("If-None-Match", "\"stale\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void shouldAuthenticateWithEcSignedToken() throws Exception {
+        SimpleUser user = new SimpleUser();
+        user.setUsername("jwks-user");
+        user.setPassword("encoded-pass");
+        user.setEnabled(true);
+        userRepo.saveAndFlush(user);
+        String token = jwtService.generateToken("jwks-user");
+
+        mockMvc.perform(get("/home/secure").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+    }
+}
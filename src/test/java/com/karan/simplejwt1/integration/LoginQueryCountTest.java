@@ -0,0 +1,80 @@
+package com.karan.simplejwt1.integration;
+
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.service.IAuthService;
+import com.karan.simplejwt1.domain.AuthRequest;
+import com.karan.simplejwt1.entity.SimpleUser;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the SQL statements a successful login prepares, with the user cache disabled
+ * so that every user load reaches the database.
+ */
+@SpringBootTest(properties = {
+        "auth.user-cache.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@ActiveProfiles("test")
+public class LoginQueryCountTest {
+
+    @Autowired
+    IAuthService authService;
+
+    @Autowired
+    AuthenticationManager authenticationManager;
+
+    @Autowired
+    PasswordEncoder passwordEncoder;
+
+    @Autowired
+    UserRepo userRepo;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setup() {
+        if (userRepo.findByUsername("query-count").isEmpty()) {
+            SimpleUser user = new SimpleUser();
+            user.setUsername("query-count");
+            user.setPassword(passwordEncoder.encode("User@123"));
+            user.setEnabled(true);
+            userRepo.saveAndFlush(user);
+        }
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void previousLoginFlowRanTwoQueries() {
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("query-count", "User@123"));
+        userRepo.findByUsername("query-count");
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void loginShouldRunSingleQuery() {
+        var response = authService.logIn(new AuthRequest("query-count", "User@123"));
+
+        assertThat(response.userData().username()).isEqualTo("query-count");
+        // a single user lookup, read as a projection; the only write is the refresh token
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,64 @@
+package com.karan.simplejwt1.integration;
+
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.revocation.TokenVersionRegistry;
+import com.karan.simplejwt1.auth.service.IAuthService;
+import com.karan.simplejwt1.domain.AuthRequest;
+import com.karan.simplejwt1.domain.RefreshRequest;
+import com.karan.simplejwt1.domain.RegisterRequest;
+import com.karan.simplejwt1.exception.InvalidCredentialsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class LogoutEverywhereIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    IAuthService authService;
+
+    @Autowired
+    UserRepo userRepo;
+
+    @Autowired
+    TokenVersionRegistry tokenVersions;
+
+    @Test
+    void logoutEverywhereShouldInvalidateAllEarlierTokens() throws Exception {
+        var registered = authService.register(new RegisterRequest("everywhere-user", "User@123", null));
+        var login = authService.logIn(new AuthRequest("everywhere-user", "User@123"));
+
+        mockMvc.perform(get("/home/secure").header("Authorization", "Bearer " + registered.token()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/logout-all").header("Authorization", "Bearer " + login.token()))
+                .andExpect(status().isNoContent());
+
+        long userId = userRepo.findByUsername("everywhere-user").orElseThrow().getId();
+        assertThat(tokenVersions.currentVersion(userId)).isEqualTo(1);
+        mockMvc.perform(get("/home/secure").header("Authorization", "Bearer " + registered.token()))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/home/secure").header("Authorization", "Bearer " + login.token()))
+                .andExpect(status().isUnauthorized());
+        assertThatThrownBy(() -> authService.refresh(new RefreshRequest(login.refreshToken())))
+                .isInstanceOf(InvalidCredentialsException.class);
+
+        var fresh = authService.logIn(new AuthRequest("everywhere-user", "User@123"));
+        mockMvc.perform(get("/home/secure").header("Authorization", "Bearer " + fresh.token()))
+                .andExpect(status().isOk());
+    }
+}
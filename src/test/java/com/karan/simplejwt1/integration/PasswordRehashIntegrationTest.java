@@ -0,0 +1,42 @@
+package com.karan.simplejwt1.integration;
+
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.service.IAuthService;
+import com.karan.simplejwt1.domain.AuthRequest;
+import com.karan.simplejwt1.entity.SimpleUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class PasswordRehashIntegrationTest {
+
+    @Autowired
+    IAuthService authService;
+
+    @Autowired
+    UserRepo userRepo;
+
+    @Test
+    void loginShouldRehashLegacyPassword() {
+        SimpleUser user = new SimpleUser();
+        user.setUsername("legacy-hash");
+        user.setPassword(new BCryptPasswordEncoder(4).encode("User@123"));
+        user.setEnabled(true);
+        userRepo.saveAndFlush(user);
+
+        var response = authService.logIn(new AuthRequest("legacy-hash", "User@123"));
+
+        assertThat(response.token()).isNotBlank();
+        String stored = userRepo.findByUsername("legacy-hash").orElseThrow().getPassword();
+        assertThat(stored).startsWith("{bcrypt}");
+
+        assertThat(authService.logIn(new AuthRequest("legacy-hash", "User@123")).token()).isNotBlank();
+        assertThat(userRepo.findByUsername("legacy-hash").orElseThrow().getPassword()).isEqualTo(stored);
+    }
+}
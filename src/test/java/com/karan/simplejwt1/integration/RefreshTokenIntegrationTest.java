@@ -0,0 +1,88 @@
+package com.karan.simplejwt1.integration;
+
+import com.karan.simplejwt1.auth.repo.RefreshTokenRepo;
+import com.karan.simplejwt1.auth.service.IAuthService;
+import com.karan.simplejwt1.auth.service.RefreshTokenService;
+import com.karan.simplejwt1.domain.RefreshRequest;
+import com.karan.simplejwt1.domain.RegisterRequest;
+import com.karan.simplejwt1.entity.RefreshToken;
+import com.karan.simplejwt1.exception.InvalidCredentialsException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class RefreshTokenIntegrationTest {
+
+    @Autowired
+    IAuthService authService;
+
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    RefreshTokenRepo refreshTokenRepo;
+
+    @Test
+    void refreshShouldRotateAndRevokeFamilyOnReuse() {
+        var registered = authService.register(new RegisterRequest("refresh-user", "User@123", "refresh@gmail.com"));
+        String first = registered.refreshToken();
+        assertThat(first).isNotBlank();
+
+        var refreshed = authService.refresh(new RefreshRequest(first));
+        assertThat(refreshed.token()).isNotBlank();
+        assertThat(refreshed.refreshToken()).isNotEqualTo(first);
+        assertThat(refreshed.userData().email()).isEqualTo("refresh@gmail.com");
+        assertThat(refreshed.userData().lastUpdatedAt()).isNotNull();
+
+        assertThatThrownBy(() -> authService.refresh(new RefreshRequest(first)))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessage("Refresh token reuse detected");
+        // the successor belongs to the leaked family and is revoked with it
+        assertThatThrownBy(() -> authService.refresh(new RefreshRequest(refreshed.refreshToken())))
+                .isInstanceOf(InvalidCredentialsException.class);
+    }
+
+    @Test
+    void revokedTokenShouldBeRefusedWithoutCountingAsReuse() {
+        var registered = authService.register(new RegisterRequest("revoked-refresh-user", "User@123", "revoked-refresh@gmail.com"));
+        String revoked = registered.refreshToken();
+        refreshTokenService.revokeAll("revoked-refresh-user");
+        String fresh = refreshTokenService.issue("revoked-refresh-user");
+
+        assertThatThrownBy(() -> authService.refresh(new RefreshRequest(revoked)))
+                .isInstanceOf(InvalidCredentialsException.class)
+                .hasMessage("Refresh token revoked");
+        assertThat(authService.refresh(new RefreshRequest(fresh)).refreshToken()).isNotBlank();
+    }
+
+    @Test
+    void purgeShouldDeleteOnlyExpiredTokens() {
+        Instant now = Instant.now();
+        for (int i = 0; i < 3; i++) {
+            refreshTokenRepo.save(token("expired-" + i, now.minus(1, ChronoUnit.DAYS)));
+        }
+        refreshTokenRepo.save(token("live", now.plus(1, ChronoUnit.DAYS)));
+
+        assertThat(refreshTokenService.purgeExpired()).isEqualTo(3);
+        assertThat(refreshTokenRepo.findByTokenHash("live")).isPresent();
+        assertThat(refreshTokenRepo.findByTokenHash("expired-0")).isEmpty();
+    }
+
+    private static RefreshToken token(String hash, Instant expiresAt) {
+        RefreshToken token = new RefreshToken();
+        token.setTokenHash(hash);
+        token.setFamilyId("purge-family");
+        token.setUsername("purge-user");
+        token.setExpiresAt(expiresAt);
+        return token;
+    }
+}
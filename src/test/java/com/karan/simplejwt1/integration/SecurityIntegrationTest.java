@@ -3,14 +3,21 @@ package com.karan.simplejwt1.integration;
 import com.karan.simplejwt1.auth.jwt.JwtService;
 import com.karan.simplejwt1.auth.repo.UserRepo;
 import com.karan.simplejwt1.entity.SimpleUser;
+import com.karan.simplejwt1.exception.Problem;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -39,7 +46,11 @@ public class SecurityIntegrationTest {
                         get("/home/secure")
                                 .header("Authorization", "Bearer invalid.token.value")
                 )
-                .andExpect(status().isUnauthorized());
+                .andExpect(status().isUnauthorized())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_LENGTH, String.valueOf(
+                        Problem.INVALID_TOKEN.toResponseEntity().getBody().length)))
+                .andExpect(jsonPath("$.code").value("invalid_token"));
     }
 
     @Test
@@ -60,4 +71,34 @@ public class SecurityIntegrationTest {
                 )
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void shouldMatchBearerSchemeCaseInsensitively() throws Exception {
+        SimpleUser user = new SimpleUser();
+        user.setUsername("scheme-user");
+        user.setPassword("encoded-pass");
+        user.setEnabled(true);
+
+        userRepo.saveAndFlush(user);
+        String token = jwtService.generateToken("scheme-user");
+
+        mockMvc.perform(
+                        get("/home/secure")
+                                .header("Authorization", "bearer " + token)
+                )
+                .andExpect(status().isOk());
+        mockMvc.perform(post("/auth/logout").header("Authorization", "BEARER " + token))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/home/secure").header("Authorization", "bearer " + token))
+                .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    void shouldSkipTokenChecksOnPublicPaths() throws Exception {
+        mockMvc.perform(
+                        get("/.well-known/jwks.json")
+                                .header("Authorization", "Bearer invalid.token.value")
+                )
+                .andExpect(status().isOk());
+    }
 }
@@ -0,0 +1,83 @@
+package com.karan.simplejwt1.integration;
+
+import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.entity.SimpleUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "jwt.stateless.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class StatelessPrincipalIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    JwtService jwtService;
+
+    @MockitoSpyBean
+    UserRepo userRepo;
+
+    @Test
+    void shouldAuthenticateFromClaimsWithoutDatabase() throws Exception {
+        SimpleUser user = new SimpleUser();
+        user.setUsername("claims-only");
+        user.setEnabled(true);
+        user.setVersion(0L);
+        String token = jwtService.generateToken(user);
+
+        mockMvc.perform(
+                        get("/home/secure")
+                                .header("Authorization", "Bearer " + token)
+                )
+                .andExpect(status().isOk());
+
+        verify(userRepo, never()).findByUsername(anyString());
+    }
+
+    @Test
+    void shouldRejectDisabledUserClaims() throws Exception {
+        SimpleUser user = new SimpleUser();
+        user.setUsername("disabled-user");
+        user.setEnabled(false);
+        user.setVersion(0L);
+        String token = jwtService.generateToken(user);
+
+        mockMvc.perform(
+                        get("/home/secure")
+                                .header("Authorization", "Bearer " + token)
+                )
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void shouldFallBackToDatabaseForTokensWithoutClaims() throws Exception {
+        SimpleUser user = new SimpleUser();
+        user.setUsername("legacy-user");
+        user.setPassword("encoded-pass");
+        user.setEnabled(true);
+        userRepo.saveAndFlush(user);
+        String token = jwtService.generateToken("legacy-user");
+
+        mockMvc.perform(
+                        get("/home/secure")
+                                .header("Authorization", "Bearer " + token)
+                )
+                .andExpect(status().isOk());
+
+        verify(userRepo).findAuthenticatedUserByUsername("legacy-user");
+    }
+}
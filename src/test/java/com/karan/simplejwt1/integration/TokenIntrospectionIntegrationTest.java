@@ -0,0 +1,162 @@
+package com.karan.simplejwt1.integration;
+
+import com.karan.simplejwt1.auth.authority.Role;
+import com.karan.simplejwt1.auth.authority.RoleSet;
+import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.service.IAuthService;
+import com.karan.simplejwt1.config.JwtProperties;
+import com.karan.simplejwt1.domain.AuthRequest;
+import com.karan.simplejwt1.domain.IntrospectRequest;
+import com.karan.simplejwt1.domain.RegisterRequest;
+import com.karan.simplejwt1.entity.SimpleUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TokenIntrospectionIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    JwtService jwtService;
+
+    @Autowired
+    JwtProperties jwtProperties;
+
+    @Autowired
+    UserRepo userRepo;
+
+    @Autowired
+    IAuthService authService;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    private String serviceToken;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepo.findByUsername("introspect-gateway").isEmpty()) {
+            SimpleUser gateway = new SimpleUser();
+            gateway.setUsername("introspect-gateway");
+            gateway.setPassword("encoded-pass");
+            gateway.setEnabled(true);
+            gateway.setRoles(RoleSet.of(Role.SERVICE));
+            userRepo.saveAndFlush(gateway);
+            SimpleUser plain = new SimpleUser();
+            plain.setUsername("introspect-plain");
+            plain.setPassword("encoded-pass");
+            plain.setEnabled(true);
+            userRepo.saveAndFlush(plain);
+            SimpleUser disabled = new SimpleUser();
+            disabled.setUsername("introspect-disabled");
+            disabled.setPassword("encoded-pass");
+            disabled.setEnabled(false);
+            userRepo.saveAndFlush(disabled);
+        }
+        serviceToken = jwtService.generateToken("introspect-gateway");
+    }
+
+    @Test
+    void shouldReportEachTokenOfTheBatchInOrder() throws Exception {
+        authService.register(new RegisterRequest("introspected", "Intro@123", "introspected@example.com"));
+        String active = authService.logIn(new AuthRequest("introspected", "Intro@123")).token();
+        String revoked = authService.logIn(new AuthRequest("introspected", "Intro@123")).token();
+        authService.logOut(revoked);
+        String expired = expiredToken("introspected");
+
+        mockMvc.perform(introspect(serviceToken, active, expired, revoked, "not-a-token", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokens.length()").value(5))
+                .andExpect(jsonPath("$.tokens[0].status").value("ACTIVE"))
+                .andExpect(jsonPath("$.tokens[0].active").value(true))
+                .andExpect(jsonPath("$.tokens[0].subject").value("introspected"))
+                .andExpect(jsonPath("$.tokens[0].roles[0]").value("USER"))
+                .andExpect(jsonPath("$.tokens[0].userId").isNumber())
+                .andExpect(jsonPath("$.tokens[1].status").value("EXPIRED"))
+                .andExpect(jsonPath("$.tokens[1].active").value(false))
+                .andExpect(jsonPath("$.tokens[1].subject").value("introspected"))
+                .andExpect(jsonPath("$.tokens[2].status").value("REVOKED"))
+                .andExpect(jsonPath("$.tokens[3].status").value("INVALID"))
+                .andExpect(jsonPath("$.tokens[3].subject").doesNotExist())
+                .andExpect(jsonPath("$.tokens[4].status").value("INVALID"));
+    }
+
+    @Test
+    void shouldVerifyLargeBatchesInParallelAndRefuseOversizedOnes() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tokens.add(i % 2 == 0 ? jwtService.generateToken("introspect-plain") : "garbage-" + i);
+        }
+
+        mockMvc.perform(introspect(serviceToken, tokens.toArray(String[]::new)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokens.length()").value(100))
+                .andExpect(jsonPath("$.tokens[42].subject").value("introspect-plain"))
+                .andExpect(jsonPath("$.tokens[43].status").value("INVALID"))
+                .andExpect(jsonPath("$.tokens[98].status").value("ACTIVE"));
+
+        tokens.add(jwtService.generateToken("introspect-plain"));
+        mockMvc.perform(introspect(serviceToken, tokens.toArray(String[]::new)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("bad_request"));
+    }
+
+    @Test
+    void shouldNotReportTokensOfDisabledOrUnknownUsersAsActive() throws Exception {
+        mockMvc.perform(introspect(serviceToken,
+                        jwtService.generateToken("introspect-disabled"), jwtService.generateToken("introspect-nobody")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.tokens[0].status").value("INACTIVE"))
+                .andExpect(jsonPath("$.tokens[0].active").value(false))
+                .andExpect(jsonPath("$.tokens[0].subject").value("introspect-disabled"))
+                .andExpect(jsonPath("$.tokens[1].status").value("INACTIVE"));
+    }
+
+    @Test
+    void shouldRequireTheIntrospectPermission() throws Exception {
+        String token = jwtService.generateToken("introspect-gateway");
+
+        mockMvc.perform(introspect(null, token))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(introspect(jwtService.generateToken("introspect-plain"), token))
+                .andExpect(status().isForbidden());
+    }
+
+    private RequestBuilder introspect(String callerToken, String... tokens) {
+        var request = post("/auth/introspect")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new IntrospectRequest(Arrays.asList(tokens))));
+        return callerToken == null ? request : request.header("Authorization", "Bearer " + callerToken);
+    }
+
+    /**
+     * Signed with the application's key but already past its expiry.
+     */
+    private String expiredToken(String username) {
+        JwtProperties expired = new JwtProperties(jwtProperties.secret(), jwtProperties.issuer(), Duration.ofMinutes(-1),
+                jwtProperties.cache(), jwtProperties.stateless(), jwtProperties.signing(), jwtProperties.revocation(), jwtProperties.claims());
+        return new JwtService(expired).generateToken(userRepo.findByUsername(username).orElseThrow());
+    }
+}
@@ -0,0 +1,86 @@
+package com.karan.simplejwt1.integration;
+
+import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.repo.RevokedTokenRepo;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.revocation.TokenRevocationService;
+import com.karan.simplejwt1.entity.RevokedToken;
+import com.karan.simplejwt1.entity.SimpleUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class TokenRevocationIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    JwtService jwtService;
+
+    @Autowired
+    UserRepo userRepo;
+
+    @Autowired
+    RevokedTokenRepo revokedTokenRepo;
+
+    @Autowired
+    TokenRevocationService revocationService;
+
+    @Test
+    void loggedOutTokenShouldBeRejectedBeforeExpiry() throws Exception {
+        SimpleUser user = new SimpleUser();
+        user.setUsername("revoke-user");
+        user.setPassword("encoded-pass");
+        user.setEnabled(true);
+        userRepo.saveAndFlush(user);
+        String token = jwtService.generateToken("revoke-user");
+        String other = jwtService.generateToken("revoke-user");
+
+        mockMvc.perform(get("/home/secure").header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/logout").header("Authorization", "Bearer " + token))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/home/secure").header("Authorization", "Bearer " + token))
+                .andExpect(status().isUnauthorized());
+        mockMvc.perform(get("/home/secure").header("Authorization", "Bearer " + other))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void syncShouldPruneExpiredAndLoadRevocationsFromOtherNodes() {
+        var expired = jwtService.verify(jwtService.generateToken("sync-user"));
+        var live = jwtService.verify(jwtService.generateToken("sync-user"));
+        revokedTokenRepo.save(row(expired.id(), Instant.now().minusSeconds(60)));
+        revokedTokenRepo.save(row(live.id(), live.expiresAt()));
+
+        assertThat(revocationService.isRevoked(live)).isFalse();
+
+        revocationService.sync();
+
+        assertThat(revocationService.isRevoked(live)).isTrue();
+        assertThat(revokedTokenRepo.existsByJti(expired.id())).isFalse();
+    }
+
+    private static RevokedToken row(String jti, Instant expiresAt) {
+        RevokedToken row = new RevokedToken();
+        row.setJti(jti);
+        row.setExpiresAt(expiresAt);
+        return row;
+    }
+}
@@ -0,0 +1,44 @@
+package com.karan.simplejwt1.integration;
+
+import com.karan.simplejwt1.auth.repo.AuthenticatedUser;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.entity.SimpleUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class UserCacheIntegrationTest {
+
+    @Autowired
+    UserDetailsService userDetailsService;
+
+    @Autowired
+    UserRepo userRepo;
+
+    @Test
+    void shouldReloadUserAfterSaveThroughRepository() {
+        SimpleUser user = new SimpleUser();
+        user.setUsername("cached-user");
+        user.setPassword("encoded-pass");
+        user.setEmail("before@gmail.com");
+        user.setEnabled(true);
+        userRepo.saveAndFlush(user);
+
+        var first = (AuthenticatedUser) userDetailsService.loadUserByUsername("cached-user");
+        assertThat(userDetailsService.loadUserByUsername("cached-user")).isSameAs(first);
+
+        SimpleUser stored = userRepo.findByUsername("cached-user").orElseThrow();
+        stored.setEmail("after@gmail.com");
+        userRepo.saveAndFlush(stored);
+
+        var reloaded = (AuthenticatedUser) userDetailsService.loadUserByUsername("cached-user");
+        assertThat(reloaded).isNotSameAs(first);
+        assertThat(reloaded.email()).isEqualTo("after@gmail.com");
+    }
+}
@@ -0,0 +1,183 @@
+package com.karan.simplejwt1.integration;
+
+import com.karan.simplejwt1.auth.AdminUserController;
+import com.karan.simplejwt1.auth.authority.Role;
+import com.karan.simplejwt1.auth.authority.RoleSet;
+import com.karan.simplejwt1.auth.jwt.JwtService;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.service.IAuthService;
+import com.karan.simplejwt1.domain.AuthRequest;
+import com.karan.simplejwt1.domain.RegisterRequest;
+import com.karan.simplejwt1.entity.SimpleUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+public class UserImportIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    JwtService jwtService;
+
+    @Autowired
+    UserRepo userRepo;
+
+    @Autowired
+    IAuthService authService;
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        if (userRepo.findByUsername("import-admin").isEmpty()) {
+            SimpleUser admin = new SimpleUser();
+            admin.setUsername("import-admin");
+            admin.setPassword("encoded-pass");
+            admin.setEnabled(true);
+            admin.setRoles(RoleSet.of(Role.USER, Role.ADMIN));
+            userRepo.saveAndFlush(admin);
+        }
+        token = jwtService.generateToken("import-admin");
+    }
+
+    @Test
+    void shouldImportValidRowsAndReportTheRest() throws Exception {
+        String bareBcrypt = new BCryptPasswordEncoder(4).encode("Hashed@123");
+        String body = String.join("\n",
+                "{\"username\":\"imported-plain\",\"password\":\"Plain@123\",\"email\":\"plain@example.com\"}",
+                "{\"username\":\"imported-hashed\",\"passwordHash\":\"" + bareBcrypt + "\"}",
+                "",
+                "{\"username\":\"imported-plain\",\"password\":\"Other@123\"}",
+                "{\"username\":\"import-admin\",\"password\":\"Taken@123\"}",
+                "{\"username\":\"no-password\"}",
+                "{\"username\":\"bad-hash\",\"passwordHash\":\"md5:abc\"}",
+                "not json");
+
+        mockMvc.perform(post("/admin/users/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(AdminUserController.NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(7))
+                .andExpect(jsonPath("$.imported").value(2))
+                .andExpect(jsonPath("$.failed").value(5))
+                .andExpect(jsonPath("$.failures[*].line").value(containsInAnyOrder(4, 5, 6, 7, 8)))
+                .andExpect(jsonPath("$.failures[?(@.line == 4)].reason").value("duplicate username in import"))
+                .andExpect(jsonPath("$.failures[?(@.line == 5)].reason").value("username already exists"));
+
+        assertThat(authService.logIn(new AuthRequest("imported-plain", "Plain@123")).token()).isNotBlank();
+        assertThat(authService.logIn(new AuthRequest("imported-hashed", "Hashed@123")).token()).isNotBlank();
+        assertThat(userRepo.findByUsername("imported-plain")).get()
+                .satisfies(user -> assertThat(user.isEnabled()).isTrue())
+                .satisfies(user -> assertThat(user.getEmail()).isEqualTo("plain@example.com"));
+    }
+
+    @Test
+    void shouldRejectMalformedHashesPerRow() throws Exception {
+        String bcrypt = new BCryptPasswordEncoder(4).encode("Hashed@123");
+        String body = String.join("\n",
+                "{\"username\":\"prefixed-hash\",\"passwordHash\":\"{bcrypt}" + bcrypt + "\"}",
+                "{\"username\":\"truncated-bcrypt\",\"passwordHash\":\"{bcrypt}" + bcrypt.substring(0, 40) + "\"}",
+                "{\"username\":\"bogus-argon2\",\"passwordHash\":\"{argon2}not-a-hash\"}",
+                "{\"username\":\"bogus-pbkdf2\",\"passwordHash\":\"{pbkdf2}abc\"}");
+
+        mockMvc.perform(post("/admin/users/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(AdminUserController.NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failures[*].line").value(containsInAnyOrder(2, 3, 4)))
+                .andExpect(jsonPath("$.failures[0].reason").value("unsupported or malformed password hash"));
+
+        assertThat(authService.logIn(new AuthRequest("prefixed-hash", "Hashed@123")).token()).isNotBlank();
+        assertThat(userRepo.findByUsername("truncated-bcrypt")).isEmpty();
+    }
+
+    @Test
+    void shouldImportCsvWithQuotedFields() throws Exception {
+        String body = """
+                email,username,password,enabled
+                "csv, one@example.com",csv-one,"Pa""ss@123",true
+                ,csv-two,Csv@12345,false
+                """;
+
+        mockMvc.perform(post("/admin/users/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(AdminUserController.CSV)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rows").value(2))
+                .andExpect(jsonPath("$.imported").value(2));
+
+        assertThat(authService.logIn(new AuthRequest("csv-one", "Pa\"ss@123")).token()).isNotBlank();
+        assertThat(userRepo.findByUsername("csv-one")).get()
+                .satisfies(user -> assertThat(user.getEmail()).isEqualTo("csv, one@example.com"));
+        assertThat(userRepo.findByUsername("csv-two")).get()
+                .satisfies(user -> assertThat(user.isEnabled()).isFalse());
+    }
+
+    @Test
+    void shouldImportRolesAndRefuseCallersWithoutTheImportPermission() throws Exception {
+        mockMvc.perform(post("/admin/users/import")
+                        .header("Authorization", "Bearer " + token)
+                        .contentType(AdminUserController.CSV)
+                        .content("username,password,roles\nimported-support,Support@123,USER|SUPPORT\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+        assertThat(userRepo.findByUsername("imported-support")).get()
+                .satisfies(user -> assertThat(RoleSet.roles(user.getRoles())).containsExactly(Role.USER, Role.SUPPORT));
+
+        // support may list users, not import them
+        String supportToken = authService.logIn(new AuthRequest("imported-support", "Support@123")).token();
+        mockMvc.perform(post("/admin/users/import")
+                        .header("Authorization", "Bearer " + supportToken)
+                        .contentType(AdminUserController.NDJSON)
+                        .content("{\"username\":\"escalated\",\"password\":\"Admin@123\",\"roles\":[\"ADMIN\"]}"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/admin/users")
+                        .header("Authorization", "Bearer " + supportToken))
+                .andExpect(status().isOk());
+        assertThat(userRepo.findByUsername("escalated")).isEmpty();
+    }
+
+    @Test
+    void shouldRefuseSelfRegisteredUsers() throws Exception {
+        String userToken = authService.register(new RegisterRequest("import-self", "Self@1234", "self@example.com")).token();
+
+        mockMvc.perform(post("/admin/users/import")
+                        .header("Authorization", "Bearer " + userToken)
+                        .contentType(AdminUserController.NDJSON)
+                        .content("{\"username\":\"self-imported\",\"password\":\"Self@1234\"}"))
+                .andExpect(status().isForbidden());
+
+        assertThat(userRepo.findByUsername("self-imported")).isEmpty();
+    }
+
+    @Test
+    void shouldRequireAuthentication() throws Exception {
+        mockMvc.perform(post("/admin/users/import")
+                        .contentType(AdminUserController.NDJSON)
+                        .content("{\"username\":\"anonymous\",\"password\":\"Anon@123\"}"))
+                .andExpect(status().isForbidden());
+
+        assertThat(userRepo.findByUsername("anonymous")).isEmpty();
+    }
+}
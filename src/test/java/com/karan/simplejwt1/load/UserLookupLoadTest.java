@@ -0,0 +1,136 @@
+package com.karan.simplejwt1.load;
+
+import com.karan.simplejwt1.SimpleJwt1Application;
+import com.karan.simplejwt1.auth.repo.UserRepo;
+import com.karan.simplejwt1.auth.service.UserImportService;
+import com.karan.simplejwt1.domain.UserImportReport;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk imports {@value #USERS} users, then looks them up concurrently on virtual threads
+ * through {@link UserRepo#findAuthenticatedUserByUsername}, the lookup behind logins and the
+ * filter, once with the default settings and once with the {@code prod} profile's pool,
+ * batching and second-level cache (on H2, since
+ * the sandbox has no PostgreSQL). Prints import time, lookup throughput and latency
+ * percentiles for both; only asserts that every user was imported and found.
+ * <p>Excluded from the default build, run with {@code ./mvnw -Pload-test test}.
+ */
+@Tag("load")
+public class UserLookupLoadTest {
+
+    private static final int USERS = 10_000;
+    private static final int CLIENTS = 200;
+    private static final int LOOKUPS_PER_CLIENT = 500;
+
+    private static final Map<String, String> RESULTS = new LinkedHashMap<>();
+
+    @ParameterizedTest(name = "profiles = {0}")
+    @ValueSource(strings = {"test", "test,prod"})
+    void concurrentLookups(String profiles) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SimpleJwt1Application.class)
+                .profiles(profiles.split(","))
+                // command line arguments, so they win over application-prod.yml
+                .run(
+                        "--spring.datasource.url=jdbc:h2:mem:lookup-" + profiles.length() + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--logging.level.org.hibernate.SQL=WARN"
+                )) {
+            UserImportService importService = context.getBean(UserImportService.class);
+            UserRepo userRepo = context.getBean(UserRepo.class);
+
+            String hash = new BCryptPasswordEncoder(4).encode("User@123");
+            StringBuilder rows = new StringBuilder();
+            for (int i = 0; i < USERS; i++) {
+                rows.append("{\"username\":\"lookup-user-").append(i)
+                        .append("\",\"passwordHash\":\"").append(hash).append("\"}\n");
+            }
+            long importStart = System.nanoTime();
+            UserImportReport report = importService.importUsers(new StringReader(rows.toString()), UserImportService.Format.NDJSON);
+            long importMillis = (System.nanoTime() - importStart) / 1_000_000;
+            assertThat(report.imported()).isEqualTo(USERS);
+
+            // warm up the JIT, the pool and, with prod, the second-level cache
+            run(userRepo, CLIENTS / 4, 100);
+            Run run = run(userRepo, CLIENTS, LOOKUPS_PER_CLIENT);
+
+            assertThat(run.misses()).isZero();
+            RESULTS.put(profiles, String.format("%9d %s", importMillis, run.summary()));
+        }
+    }
+
+    @AfterAll
+    static void report() {
+        System.out.printf("%n%-10s %s%n", "profiles", "import ms  lookups/s      p50      p99    p99.9 (ms)");
+        RESULTS.forEach((profiles, summary) -> System.out.printf("%-10s %s%n", profiles, summary));
+    }
+
+    private static Run run(UserRepo userRepo, int clients, int lookupsPerClient) throws Exception {
+        AtomicInteger misses = new AtomicInteger();
+        long[] latencies = new long[clients * lookupsPerClient];
+        AtomicInteger next = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                futures.add(pool.submit(() -> {
+                    for (int n = 0; n < lookupsPerClient; n++) {
+                        // a skewed key set, like real logins: most lookups hit the first 10%
+                        int user = n % 10 == 0 ? (client * 31 + n) % USERS : (client * 31 + n) % (USERS / 10);
+                        long begin = System.nanoTime();
+                        boolean found = userRepo.findAuthenticatedUserByUsername("lookup-user-" + user).isPresent();
+                        latencies[next.getAndIncrement()] = System.nanoTime() - begin;
+                        if (!found) {
+                            misses.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Run(latencies, elapsed, misses.get());
+    }
+
+    private record Run(long[] latencies, long elapsedNanos, int misses) {
+
+        String summary() {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            double throughput = sorted.length / (elapsedNanos / 1e9);
+            return String.format("%10.0f %8.2f %8.2f %8.2f",
+                    throughput, millis(sorted, 0.50), millis(sorted, 0.99), millis(sorted, 0.999));
+        }
+
+        private static double millis(long[] sorted, double percentile) {
+            int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1);
+            return sorted[index] / 1e6;
+        }
+    }
+}
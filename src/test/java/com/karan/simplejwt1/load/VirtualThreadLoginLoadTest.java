@@ -0,0 +1,130 @@
+package com.karan.simplejwt1.load;
+
+import com.karan.simplejwt1.SimpleJwt1Application;
+import com.karan.simplejwt1.auth.service.IAuthService;
+import com.karan.simplejwt1.domain.RegisterRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent logins over HTTP against the same application started once with platform
+ * request threads and once with virtual ones. Prints throughput and latency percentiles
+ * for both; only asserts that every login succeeded.
+ * <p>Excluded from the default build, run with {@code ./mvnw -Pload-test test}.
+ */
+@Tag("load")
+public class VirtualThreadLoginLoadTest {
+
+    private static final int USERS = 50;
+    private static final int CLIENTS = 400;
+    private static final int LOGINS_PER_CLIENT = 25;
+
+    private static final Map<String, String> RESULTS = new LinkedHashMap<>();
+
+    @ParameterizedTest(name = "virtual threads = {0}")
+    @ValueSource(booleans = {false, true})
+    void concurrentLogins(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SimpleJwt1Application.class)
+                .profiles("test")
+                // command line arguments, so they win over application.yml
+                .run(
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--server.tomcat.threads.max=200",
+                        "--auth.hashing.queue-capacity=" + CLIENTS,
+                        "--auth.login-limit.enabled=false",
+                        "--logging.level.org.hibernate.SQL=WARN"
+                )) {
+            IAuthService authService = context.getBean(IAuthService.class);
+            for (int i = 0; i < USERS; i++) {
+                authService.register(new RegisterRequest("load-user-" + i, "User@123", null));
+            }
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            URI login = URI.create("http://localhost:" + port + "/auth/login");
+
+            // warm up the JIT and the connection pool before measuring
+            run(login, CLIENTS / 4, 5);
+            Run run = run(login, CLIENTS, LOGINS_PER_CLIENT);
+
+            assertThat(run.failures()).isZero();
+            RESULTS.put(virtualThreads ? "virtual" : "platform", run.summary());
+        }
+    }
+
+    @AfterAll
+    static void report() {
+        System.out.printf("%n%-10s %s%n", "threads", "logins/s      p50      p99    p99.9 (ms)");
+        RESULTS.forEach((mode, summary) -> System.out.printf("%-10s %s%n", mode, summary));
+    }
+
+    private static Run run(URI login, int clients, int loginsPerClient) throws Exception {
+        HttpClient http = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        AtomicInteger failures = new AtomicInteger();
+        long[] latencies = new long[clients * loginsPerClient];
+        AtomicInteger next = new AtomicInteger();
+
+        long start = System.nanoTime();
+        try (ExecutorService pool = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                futures.add(pool.submit(() -> {
+                    for (int n = 0; n < loginsPerClient; n++) {
+                        String body = "{\"username\":\"load-user-" + ((client + n) % USERS) + "\",\"password\":\"User@123\"}";
+                        HttpRequest request = HttpRequest.newBuilder(login)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(body))
+                                .build();
+                        long begin = System.nanoTime();
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        latencies[next.getAndIncrement()] = System.nanoTime() - begin;
+                        if (response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Run(latencies, elapsed, failures.get());
+    }
+
+    private record Run(long[] latencies, long elapsedNanos, int failures) {
+
+        String summary() {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            double throughput = sorted.length / (elapsedNanos / 1e9);
+            return String.format("%8.0f %8.1f %8.1f %8.1f",
+                    throughput, millis(sorted, 0.50), millis(sorted, 0.99), millis(sorted, 0.999));
+        }
+
+        private static double millis(long[] sorted, double percentile) {
+            int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile * sorted.length) - 1);
+            return sorted[index] / 1e6;
+        }
+    }
+}